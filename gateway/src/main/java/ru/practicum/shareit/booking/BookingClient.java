@@ -2,7 +2,9 @@ package ru.practicum.shareit.booking;
 
 import static ru.practicum.shareit.utils.UtilsClass.getRestTemplate;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
@@ -19,31 +21,33 @@ public class BookingClient extends BaseClient {
     super(getRestTemplate(serverUrl, API_PREFIX, builder));
   }
 
-  public ResponseEntity<Object> create(Long userId, BookingRequestDto bookingRequestDto) {
+  public CompletableFuture<ResponseEntity<Object>> create(Long userId, BookingRequestDto bookingRequestDto) {
     return post("", userId, bookingRequestDto);
   }
 
-  public ResponseEntity<Object> approveBooking(Long bookingId, Boolean approved, Long userId) {
+  public CompletableFuture<ResponseEntity<Object>> approveBooking(Long bookingId, Boolean approved, Long userId) {
     Map<String, Object> parameters = Map.of("approved", approved);
 
     return patch(String.format("/%s/?approved={approved}", bookingId), userId, parameters, null);
   }
 
-  public ResponseEntity<Object> getBookingByIdForOwnerOrBooker(Long bookingId, Long userId) {
+  public CompletableFuture<ResponseEntity<Object>> getBookingByIdForOwnerOrBooker(Long bookingId, Long userId) {
     return get("/" + bookingId, userId);
   }
 
-  public ResponseEntity<Object> getAllBookingsForBooker(
-      Long userId, String state, Integer from, Integer size) {
-    Map<String, Object> parameters = Map.of("state", state, "from", from, "size", size);
+  public CompletableFuture<ResponseEntity<Object>> getAllBookingsForBooker(
+      Long userId, String state, Integer from, Integer size, String cursor) {
+    Map<String, Object> parameters = new HashMap<>(Map.of("state", state, "from", from, "size", size));
+    String path = withCursor("?state={state}&from={from}&size={size}", parameters, cursor);
 
-    return get("?state={state}&from={from}&size={size}", userId, parameters);
+    return get(path, userId, parameters);
   }
 
-  public ResponseEntity<Object> getAllBookingsForOwner(
-      Long userId, String state, Integer from, Integer size) {
-    Map<String, Object> parameters = Map.of("state", state, "from", from, "size", size);
+  public CompletableFuture<ResponseEntity<Object>> getAllBookingsForOwner(
+      Long userId, String state, Integer from, Integer size, String cursor) {
+    Map<String, Object> parameters = new HashMap<>(Map.of("state", state, "from", from, "size", size));
+    String path = withCursor("/owner?state={state}&from={from}&size={size}", parameters, cursor);
 
-    return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+    return get(path, userId, parameters);
   }
 }
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.booking;
 
 
+import java.util.concurrent.CompletableFuture;
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.PositiveOrZero;
@@ -32,7 +33,7 @@ public class BookingController {
 
   @PostMapping
   @Validated({Group.OnInsert.class})
-  public ResponseEntity<Object> create(
+  public CompletableFuture<ResponseEntity<Object>> create(
       @RequestHeader(USER_ID_HEADER) Long userId,
       @RequestBody @Valid BookingRequestDto bookingRequestDto) {
     log.info("POST /bookings: userId={}, bookingRequestDto={}", userId, bookingRequestDto);
@@ -40,7 +41,7 @@ public class BookingController {
   }
 
   @PatchMapping(path = "/{bookingId}")
-  public ResponseEntity<Object> approveBooking(
+  public CompletableFuture<ResponseEntity<Object>> approveBooking(
       @PathVariable Long bookingId,
       @RequestParam Boolean approved,
       @RequestHeader(USER_ID_HEADER) Long ownerId) {
@@ -53,40 +54,55 @@ public class BookingController {
   }
 
   @GetMapping(path = "/{bookingId}")
-  public ResponseEntity<Object> getBookingByIdForOwnerOrBooker(
+  public CompletableFuture<ResponseEntity<Object>> getBookingByIdForOwnerOrBooker(
       @PathVariable Long bookingId, @RequestHeader(USER_ID_HEADER) Long userId) {
     log.info("GET /bookings/{bookingId}: bookingId={}, userId={}", bookingId, userId);
     return bookingClient.getBookingByIdForOwnerOrBooker(bookingId, userId);
   }
 
   @GetMapping
-  public ResponseEntity<Object> getAllBookingsForBooker(
+  public CompletableFuture<ResponseEntity<Object>> getAllBookingsForBooker(
       @RequestHeader(USER_ID_HEADER) Long userId,
       @RequestParam(name = "state", defaultValue = "ALL") String state,
       @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero Integer from,
-      @RequestParam(name = "size", defaultValue = "10") @Min(1) Integer size) {
-    log.info("GET /bookings: userId={}, state={}, from={}, size={}", userId, state, from, size);
+      @RequestParam(name = "size", defaultValue = "10") @Min(1) Integer size,
+      @RequestParam(name = "cursor", required = false) String cursor) {
+    log.info(
+        "GET /bookings: userId={}, state={}, from={}, size={}, cursor={}",
+        userId,
+        state,
+        from,
+        size,
+        cursor);
 
     BookingState bookingState =
             BookingState.from(state)
                     .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + state));
 
-    return bookingClient.getAllBookingsForBooker(userId, bookingState.toString(), from, size);
+    return bookingClient.getAllBookingsForBooker(
+        userId, bookingState.toString(), from, size, cursor);
   }
 
   @GetMapping(path = "/owner")
-  public ResponseEntity<Object> getAllBookingsForOwner(
+  public CompletableFuture<ResponseEntity<Object>> getAllBookingsForOwner(
       @RequestHeader(USER_ID_HEADER) Long userId,
       @RequestParam(name = "state", defaultValue = "ALL") String state,
       @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero Integer from,
-      @RequestParam(name = "size", defaultValue = "10") @Min(1) Integer size) {
+      @RequestParam(name = "size", defaultValue = "10") @Min(1) Integer size,
+      @RequestParam(name = "cursor", required = false) String cursor) {
     log.info(
-        "GET /bookings/owner: userId={}, state={}, from={}, size={}", userId, state, from, size);
+        "GET /bookings/owner: userId={}, state={}, from={}, size={}, cursor={}",
+        userId,
+        state,
+        from,
+        size,
+        cursor);
 
     BookingState bookingState =
             BookingState.from(state)
                     .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + state));
 
-    return bookingClient.getAllBookingsForOwner(userId, bookingState.toString(), from, size);
+    return bookingClient.getAllBookingsForOwner(
+        userId, bookingState.toString(), from, size, cursor);
   }
 }
@@ -0,0 +1,93 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.ServerOverloadedException;
+
+/**
+ * AIMD limit on concurrent calls to the server. A call that fails at the transport level, gets a
+ * 5xx response or takes longer than the latency threshold shrinks the limit by the backoff ratio; a
+ * fast call made while the limit was at least half used grows it by one. Calls over the limit are
+ * rejected at once instead of queueing behind a slow server.
+ */
+@Component
+@ConditionalOnProperty(
+    name = "shareit-server.concurrency-limit.enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+  private final ConcurrencyLimitProperties properties;
+  private final long latencyThresholdNanos;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final Counter rejected;
+  private volatile double limit;
+
+  public AdaptiveConcurrencyLimiter(
+      ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.latencyThresholdNanos = properties.getLatencyThreshold().toNanos();
+    this.limit = properties.getInitialLimit();
+
+    Gauge.builder("gateway.concurrency.limit", this, limiter -> limiter.limit)
+        .description("Current limit on concurrent calls to the server")
+        .register(meterRegistry);
+    Gauge.builder("gateway.concurrency.inflight", inFlight, AtomicInteger::get)
+        .description("Calls to the server in flight")
+        .register(meterRegistry);
+    this.rejected =
+        Counter.builder("gateway.concurrency.rejected")
+            .description("Calls rejected because the concurrency limit was reached")
+            .register(meterRegistry);
+  }
+
+  public Permit acquire() {
+    while (true) {
+      int current = inFlight.get();
+      if (current >= (int) limit) {
+        rejected.increment();
+        throw new ServerOverloadedException("Сервер перегружен, повторите запрос позже");
+      }
+      if (inFlight.compareAndSet(current, current + 1)) {
+        return new Permit(current + 1);
+      }
+    }
+  }
+
+  private synchronized void onSample(long latencyNanos, boolean dropped, int inFlightAtStart) {
+    double previous = limit;
+    if (dropped || latencyNanos > latencyThresholdNanos) {
+      limit = Math.max(properties.getMinLimit(), limit * properties.getBackoffRatio());
+    } else if (inFlightAtStart * 2 >= limit) {
+      limit = Math.min(properties.getMaxLimit(), limit + 1);
+    }
+    if ((int) previous != (int) limit) {
+      log.debug("Лимит одновременных запросов к серверу: {} -> {}", (int) previous, (int) limit);
+    }
+  }
+
+  public class Permit {
+    private final long startNanos = System.nanoTime();
+    private final int inFlightAtStart;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private Permit(int inFlightAtStart) {
+      this.inFlightAtStart = inFlightAtStart;
+    }
+
+    public void release(boolean dropped) {
+      if (released.compareAndSet(false, true)) {
+        inFlight.decrementAndGet();
+        onSample(System.nanoTime() - startNanos, dropped, inFlightAtStart);
+      }
+    }
+  }
+}
@@ -0,0 +1,92 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+
+/**
+ * Non-blocking transport on top of {@link HttpClient}: the servlet thread is released as soon as
+ * the request is sent and the response is completed from the client's selector thread. Bodies are
+ * relayed as raw bytes with the server's headers; error responses carry the server's status and
+ * body, like the blocking transport.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit-server.transport", havingValue = "async")
+@Slf4j
+public class AsyncTransport {
+  private final HttpClient httpClient;
+  private final ObjectMapper objectMapper;
+  private final Duration readTimeout;
+
+  public AsyncTransport(ObjectMapper objectMapper, HttpClientProperties properties) {
+    this.objectMapper = objectMapper;
+    this.readTimeout = properties.getReadTimeout();
+    this.httpClient =
+        HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(properties.getConnectTimeout())
+            .build();
+    log.info("Запросы к серверу отправляются асинхронно");
+  }
+
+  public CompletableFuture<ResponseEntity<Object>> send(
+      HttpMethod method, URI uri, HttpHeaders headers, @Nullable Object body) {
+    HttpRequest.Builder request =
+        HttpRequest.newBuilder(uri)
+            .timeout(readTimeout)
+            .method(method.name(), bodyPublisher(body));
+    headers.forEach((name, values) -> values.forEach(value -> request.header(name, value)));
+
+    return httpClient
+        .sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray())
+        .handle(
+            (response, e) -> {
+              if (e != null) {
+                Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+                throw new CompletionException(
+                    new ResourceAccessException(
+                        String.format("Ошибка запроса %s %s: %s", method, uri, cause.getMessage())));
+              }
+              return toResponseEntity(response);
+            });
+  }
+
+  private HttpRequest.BodyPublisher bodyPublisher(@Nullable Object body) {
+    if (body == null) {
+      return HttpRequest.BodyPublishers.noBody();
+    }
+    try {
+      return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Не удалось сериализовать тело запроса", e);
+    }
+  }
+
+  private static ResponseEntity<Object> toResponseEntity(HttpResponse<byte[]> response) {
+    int status = response.statusCode();
+    if (HttpStatus.Series.resolve(status) != HttpStatus.Series.SUCCESSFUL) {
+      return ResponseEntity.status(status).body(response.body());
+    }
+
+    HttpHeaders serverHeaders = new HttpHeaders();
+    response.headers().map().forEach(serverHeaders::addAll);
+    return ResponseEntity.status(status)
+        .headers(BaseClient.endToEndHeaders(serverHeaders))
+        .body(response.body());
+  }
+}
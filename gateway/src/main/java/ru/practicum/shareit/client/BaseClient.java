@@ -1,89 +1,285 @@
 package ru.practicum.shareit.client;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
 public class BaseClient {
+  private static final Set<String> HOP_BY_HOP_HEADERS =
+      Set.of(
+          "connection",
+          "keep-alive",
+          "proxy-authenticate",
+          "proxy-authorization",
+          "te",
+          "trailer",
+          "transfer-encoding",
+          "upgrade");
+
   protected final RestTemplate rest;
+  private boolean passThrough;
+  @Nullable private AsyncTransport asyncTransport;
+  @Nullable private AdaptiveConcurrencyLimiter concurrencyLimiter;
+  private boolean coalesceGets;
+  private Counter collapsedCalls;
+  private final Map<FlightKey, Flight> inFlight = new ConcurrentHashMap<>();
 
   public BaseClient(RestTemplate rest) {
     this.rest = rest;
   }
 
-  protected ResponseEntity<Object> get(String path) {
+  @Autowired
+  public void setPassThrough(@Value("${shareit-server.pass-through:true}") boolean passThrough) {
+    this.passThrough = passThrough;
+  }
+
+  @Autowired
+  public void setCoalesceGets(@Value("${shareit-server.coalesce-gets:true}") boolean coalesceGets) {
+    this.coalesceGets = coalesceGets;
+  }
+
+  @Autowired
+  public void setMeterRegistry(MeterRegistry meterRegistry) {
+    this.collapsedCalls =
+        Counter.builder("gateway.requests.coalesced")
+            .description("GET requests answered by an identical request already in flight")
+            .tag("client", getClass().getSimpleName())
+            .register(meterRegistry);
+  }
+
+  @Autowired(required = false)
+  public void setConcurrencyLimiter(AdaptiveConcurrencyLimiter concurrencyLimiter) {
+    this.concurrencyLimiter = concurrencyLimiter;
+  }
+
+  @Autowired(required = false)
+  public void setAsyncTransport(AsyncTransport asyncTransport) {
+    this.asyncTransport = asyncTransport;
+  }
+
+  protected static String withCursor(
+      String path, Map<String, Object> parameters, @Nullable String cursor) {
+    if (cursor == null) {
+      return path;
+    }
+    parameters.put("cursor", cursor);
+    return path + "&cursor={cursor}";
+  }
+
+  protected CompletableFuture<ResponseEntity<Object>> get(String path) {
     return get(path, null, null);
   }
 
-  protected ResponseEntity<Object> get(String path, long userId) {
+  protected CompletableFuture<ResponseEntity<Object>> get(String path, long userId) {
     return get(path, userId, null);
   }
 
-  protected ResponseEntity<Object> get(
+  protected CompletableFuture<ResponseEntity<Object>> get(
       String path, Long userId, @Nullable Map<String, Object> parameters) {
     return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
   }
 
-  protected <T> ResponseEntity<Object> post(String path, T body) {
+  protected <T> CompletableFuture<ResponseEntity<Object>> post(String path, T body) {
     return post(path, null, null, body);
   }
 
-  protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+  protected <T> CompletableFuture<ResponseEntity<Object>> post(String path, long userId, T body) {
     return post(path, userId, null, body);
   }
 
-  protected <T> ResponseEntity<Object> post(
+  protected <T> CompletableFuture<ResponseEntity<Object>> post(
       String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
     return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
   }
 
-  protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+  protected <T> CompletableFuture<ResponseEntity<Object>> put(String path, long userId, T body) {
     return put(path, userId, null, body);
   }
 
-  protected <T> ResponseEntity<Object> put(
+  protected <T> CompletableFuture<ResponseEntity<Object>> put(
       String path, long userId, @Nullable Map<String, Object> parameters, T body) {
     return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
   }
 
-  protected <T> ResponseEntity<Object> patch(String path, T body) {
+  protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, T body) {
     return patch(path, null, null, body);
   }
 
-  protected <T> ResponseEntity<Object> patch(String path, long userId) {
+  protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, long userId) {
     return patch(path, userId, null, null);
   }
 
-  protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+  protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, long userId, T body) {
     return patch(path, userId, null, body);
   }
 
-  protected <T> ResponseEntity<Object> patch(
+  protected <T> CompletableFuture<ResponseEntity<Object>> patch(
       String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
     return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
   }
 
-  protected ResponseEntity<Object> delete(String path) {
+  protected CompletableFuture<ResponseEntity<Object>> delete(String path) {
     return delete(path, null, null);
   }
 
-  protected ResponseEntity<Object> delete(String path, long userId) {
+  protected CompletableFuture<ResponseEntity<Object>> delete(String path, long userId) {
     return delete(path, userId, null);
   }
 
-  protected ResponseEntity<Object> delete(
+  protected CompletableFuture<ResponseEntity<Object>> delete(
       String path, Long userId, @Nullable Map<String, Object> parameters) {
     return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
   }
 
-  private <T> ResponseEntity<Object> makeAndSendRequest(
+  private <T> CompletableFuture<ResponseEntity<Object>> makeAndSendRequest(
+      HttpMethod method,
+      String path,
+      Long userId,
+      @Nullable Map<String, Object> parameters,
+      @Nullable T body) {
+    if (coalesceGets && method == HttpMethod.GET) {
+      return coalesce(
+          new FlightKey(expand(path, parameters), userId),
+          () -> send(method, path, userId, parameters, body));
+    }
+    return send(method, path, userId, parameters, body);
+  }
+
+  private <T> CompletableFuture<ResponseEntity<Object>> send(
+      HttpMethod method,
+      String path,
+      Long userId,
+      @Nullable Map<String, Object> parameters,
+      @Nullable T body) {
+    if (concurrencyLimiter == null) {
+      return transport(method, path, userId, parameters, body);
+    }
+
+    AdaptiveConcurrencyLimiter.Permit permit = concurrencyLimiter.acquire();
+    CompletableFuture<ResponseEntity<Object>> response;
+    try {
+      response = transport(method, path, userId, parameters, body);
+    } catch (RuntimeException e) {
+      permit.release(e instanceof ResourceAccessException);
+      throw e;
+    }
+    return response.whenComplete(
+        (result, e) -> permit.release(e != null || result.getStatusCodeValue() >= 500));
+  }
+
+  private <T> CompletableFuture<ResponseEntity<Object>> transport(
+      HttpMethod method,
+      String path,
+      Long userId,
+      @Nullable Map<String, Object> parameters,
+      @Nullable T body) {
+    if (asyncTransport != null) {
+      return asyncTransport.send(method, expand(path, parameters), defaultHeaders(userId), body);
+    }
+    if (passThrough) {
+      return CompletableFuture.completedFuture(
+          passThrough(method, expand(path, parameters), userId, body));
+    }
+    return CompletableFuture.completedFuture(exchange(method, path, userId, parameters, body));
+  }
+
+  /**
+   * Single-flight for idempotent GETs: while a request for the same URI and user is in flight,
+   * identical requests wait for its response instead of calling the server again. The entry is
+   * removed before the response is published, so a request arriving afterwards starts a new call.
+   * The body is buffered for sharing only when another request has actually joined the flight;
+   * otherwise the caller gets the server's response as is, streamed in the pass-through mode.
+   */
+  private CompletableFuture<ResponseEntity<Object>> coalesce(
+      FlightKey key, Supplier<CompletableFuture<ResponseEntity<Object>>> call) {
+    Flight flight = new Flight();
+    Flight existing;
+    while ((existing = inFlight.putIfAbsent(key, flight)) != null) {
+      if (existing.join()) {
+        collapsedCalls.increment();
+        return existing.shared;
+      }
+    }
+
+    CompletableFuture<ResponseEntity<Object>> response;
+    try {
+      response = call.get();
+    } catch (RuntimeException e) {
+      response = CompletableFuture.failedFuture(e);
+    }
+    CompletableFuture<ResponseEntity<Object>> own = new CompletableFuture<>();
+    response.whenComplete(
+        (result, e) -> {
+          inFlight.remove(key, flight);
+          boolean joined = flight.close();
+          if (e != null) {
+            own.completeExceptionally(e);
+            flight.shared.completeExceptionally(e);
+          } else if (!joined) {
+            own.complete(result);
+          } else {
+            try {
+              ResponseEntity<Object> buffered = shareable(result);
+              own.complete(buffered);
+              flight.shared.complete(buffered);
+            } catch (RuntimeException shareError) {
+              own.completeExceptionally(shareError);
+              flight.shared.completeExceptionally(shareError);
+            }
+          }
+        });
+    return own;
+  }
+
+  private static ResponseEntity<Object> shareable(ResponseEntity<Object> response) {
+    if (!(response.getBody() instanceof InputStreamResource)) {
+      return response;
+    }
+    try (InputStream body = ((InputStreamResource) response.getBody()).getInputStream()) {
+      return ResponseEntity.status(response.getStatusCode())
+          .headers(response.getHeaders())
+          .body(StreamUtils.copyToByteArray(body));
+    } catch (IOException e) {
+      throw new ResourceAccessException("Ошибка чтения ответа: " + e.getMessage(), e);
+    }
+  }
+
+  private URI expand(String path, @Nullable Map<String, Object> parameters) {
+    return parameters != null
+        ? rest.getUriTemplateHandler().expand(path, parameters)
+        : rest.getUriTemplateHandler().expand(path);
+  }
+
+  private <T> ResponseEntity<Object> exchange(
       HttpMethod method,
       String path,
       Long userId,
@@ -105,6 +301,88 @@ public class BaseClient {
     return prepareGatewayResponse(shareitServerResponse);
   }
 
+  /**
+   * Sends the request and hands the server's response body to the servlet as an unparsed stream
+   * together with the server's headers; the pooled connection is released once the body has been
+   * copied. Error responses are buffered and returned exactly as in the parsing mode.
+   */
+  private <T> ResponseEntity<Object> passThrough(
+      HttpMethod method, URI uri, Long userId, @Nullable T body) {
+    ClientHttpResponse response = execute(method, uri, userId, body);
+    boolean handedOver = false;
+    try {
+      int status = response.getRawStatusCode();
+      if (HttpStatus.Series.resolve(status) != HttpStatus.Series.SUCCESSFUL) {
+        return ResponseEntity.status(status).body(StreamUtils.copyToByteArray(response.getBody()));
+      }
+
+      ResponseEntity<Object> passed =
+          ResponseEntity.status(status)
+              .headers(endToEndHeaders(response.getHeaders()))
+              .body(new InputStreamResource(new ResponseBodyStream(response)));
+      handedOver = true;
+      return passed;
+    } catch (IOException e) {
+      throw new ResourceAccessException(
+          String.format("Ошибка чтения ответа %s %s: %s", method, uri, e.getMessage()), e);
+    } finally {
+      if (!handedOver) {
+        response.close();
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> ClientHttpResponse execute(
+      HttpMethod method, URI uri, Long userId, @Nullable T body) {
+    try {
+      ClientHttpRequest request = rest.getRequestFactory().createRequest(uri, method);
+      request.getHeaders().addAll(defaultHeaders(userId));
+      if (body != null) {
+        HttpMessageConverter<Object> converter =
+            (HttpMessageConverter<Object>)
+                rest.getMessageConverters().stream()
+                    .filter(c -> c.canWrite(body.getClass(), MediaType.APPLICATION_JSON))
+                    .findFirst()
+                    .orElseThrow(
+                        () ->
+                            new IllegalStateException(
+                                "Нет конвертера для " + body.getClass().getName()));
+        converter.write(body, MediaType.APPLICATION_JSON, request);
+      }
+      return request.execute();
+    } catch (IOException e) {
+      throw new ResourceAccessException(
+          String.format("Ошибка запроса %s %s: %s", method, uri, e.getMessage()), e);
+    }
+  }
+
+  static HttpHeaders endToEndHeaders(HttpHeaders serverHeaders) {
+    HttpHeaders headers = new HttpHeaders();
+    serverHeaders.forEach(
+        (name, values) -> {
+          if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+            headers.put(name, values);
+          }
+        });
+    return headers;
+  }
+
+  protected void stream(String path, @Nullable Long userId, OutputStream out) {
+    rest.execute(
+        path,
+        HttpMethod.GET,
+        request -> {
+          request
+              .getHeaders()
+              .setAccept(List.of(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON));
+          if (userId != null) {
+            request.getHeaders().set("X-Sharer-User-Id", String.valueOf(userId));
+          }
+        },
+        response -> StreamUtils.copy(response.getBody(), out));
+  }
+
   private HttpHeaders defaultHeaders(Long userId) {
     HttpHeaders headers = new HttpHeaders();
     headers.setContentType(MediaType.APPLICATION_JSON);
@@ -117,7 +395,11 @@ public class BaseClient {
 
   private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
     if (response.getStatusCode().is2xxSuccessful()) {
-      return response;
+      HttpHeaders headers = endToEndHeaders(response.getHeaders());
+      headers.remove(HttpHeaders.CONTENT_LENGTH);
+      return ResponseEntity.status(response.getStatusCode())
+          .headers(headers)
+          .body(response.getBody());
     }
 
     ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
@@ -128,4 +410,52 @@ public class BaseClient {
 
     return responseBuilder.build();
   }
+
+  private static class ResponseBodyStream extends FilterInputStream {
+    private final ClientHttpResponse response;
+
+    ResponseBodyStream(ClientHttpResponse response) throws IOException {
+      super(response.getBody());
+      this.response = response;
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        super.close();
+      } finally {
+        response.close();
+      }
+    }
+  }
+
+  private static class Flight {
+    private static final int CLOSED = -1;
+
+    private final AtomicInteger followers = new AtomicInteger();
+    private final CompletableFuture<ResponseEntity<Object>> shared = new CompletableFuture<>();
+
+    /** Registers a follower; fails once the leader has taken the response. */
+    boolean join() {
+      int count;
+      do {
+        count = followers.get();
+        if (count == CLOSED) {
+          return false;
+        }
+      } while (!followers.compareAndSet(count, count + 1));
+      return true;
+    }
+
+    /** Closes the flight to new followers and tells whether anyone joined. */
+    boolean close() {
+      return followers.getAndSet(CLOSED) > 0;
+    }
+  }
+
+  @lombok.Value
+  private static class FlightKey {
+    URI uri;
+    Long userId;
+  }
 }
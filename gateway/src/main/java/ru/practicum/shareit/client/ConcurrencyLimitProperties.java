@@ -0,0 +1,16 @@
+package ru.practicum.shareit.client;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-server.concurrency-limit")
+public class ConcurrencyLimitProperties {
+  private boolean enabled = true;
+  private int initialLimit = 20;
+  private int minLimit = 4;
+  private int maxLimit = 200;
+  private double backoffRatio = 0.9;
+  private Duration latencyThreshold = Duration.ofSeconds(1);
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.boot.autoconfigure.web.client.RestTemplateBuilderConfigurer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+/**
+ * One connection pool to the server shared by every client. The {@link RestTemplateBuilder} bean is
+ * replaced so that all templates built from it use this pool.
+ */
+@Configuration
+@EnableConfigurationProperties(HttpClientProperties.class)
+public class HttpClientConfig {
+  private static final String POOL_NAME = "shareit-server";
+
+  @Bean
+  public PoolingHttpClientConnectionManager connectionManager(HttpClientProperties properties) {
+    PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+    connectionManager.setMaxTotal(properties.getMaxTotal());
+    connectionManager.setDefaultMaxPerRoute(properties.getMaxPerRoute());
+    connectionManager.setValidateAfterInactivity(
+        (int) properties.getValidateAfterInactivity().toMillis());
+    return connectionManager;
+  }
+
+  @Bean(destroyMethod = "close")
+  public CloseableHttpClient httpClient(
+      PoolingHttpClientConnectionManager connectionManager, HttpClientProperties properties) {
+    RequestConfig requestConfig =
+        RequestConfig.custom()
+            .setConnectTimeout((int) properties.getConnectTimeout().toMillis())
+            .setSocketTimeout((int) properties.getReadTimeout().toMillis())
+            .setConnectionRequestTimeout((int) properties.getConnectionRequestTimeout().toMillis())
+            .build();
+
+    long keepAlive = properties.getKeepAlive().toMillis();
+    ConnectionKeepAliveStrategy keepAliveStrategy =
+        (response, context) -> {
+          long serverKeepAlive =
+              DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+          return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAlive) : keepAlive;
+        };
+
+    return HttpClients.custom()
+        .setConnectionManager(connectionManager)
+        .setDefaultRequestConfig(requestConfig)
+        .setKeepAliveStrategy(keepAliveStrategy)
+        .evictExpiredConnections()
+        .evictIdleConnections(properties.getMaxIdle().toMillis(), TimeUnit.MILLISECONDS)
+        .build();
+  }
+
+  @Bean
+  public RestTemplateBuilder restTemplateBuilder(
+      RestTemplateBuilderConfigurer configurer, CloseableHttpClient httpClient) {
+    return configurer
+        .configure(new RestTemplateBuilder())
+        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient));
+  }
+
+  @Bean
+  public MeterBinder connectionPoolMetrics(PoolingHttpClientConnectionManager connectionManager) {
+    return new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, POOL_NAME);
+  }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.client;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-server.http")
+public class HttpClientProperties {
+  private int maxTotal = 200;
+  private int maxPerRoute = 200;
+  private Duration connectTimeout = Duration.ofSeconds(2);
+  private Duration readTimeout = Duration.ofSeconds(30);
+  private Duration connectionRequestTimeout = Duration.ofSeconds(5);
+  private Duration keepAlive = Duration.ofSeconds(30);
+  private Duration maxIdle = Duration.ofSeconds(60);
+  private Duration validateAfterInactivity = Duration.ofSeconds(2);
+}
@@ -1,17 +1,22 @@
 package ru.practicum.shareit.exception;
 
+import javax.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.client.HttpStatusCodeException;
 
 @ControllerAdvice
 @Slf4j
 public class ErrorHandler {
-  @ExceptionHandler({MethodArgumentNotValidException.class})
+  @ExceptionHandler({MethodArgumentNotValidException.class, ConstraintViolationException.class})
   @ResponseStatus(HttpStatus.BAD_REQUEST)
   @ResponseBody
   ErrorResponse getEmailExceptionResponse(Exception e) {
@@ -19,6 +24,22 @@ public class ErrorHandler {
     return new ErrorResponse(e.getMessage());
   }
 
+  @ExceptionHandler({HttpStatusCodeException.class})
+  ResponseEntity<String> getServerExceptionResponse(HttpStatusCodeException e) {
+    log.error("Server error: {}", e.getStatusCode());
+    return ResponseEntity.status(e.getStatusCode())
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(e.getResponseBodyAsString());
+  }
+
+  @ExceptionHandler({ServerOverloadedException.class})
+  ResponseEntity<ErrorResponse> getServerOverloadedResponse(ServerOverloadedException e) {
+    log.warn("Server overloaded: {}", e.getMessage());
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, "1")
+        .body(new ErrorResponse(e.getMessage()));
+  }
+
   @ExceptionHandler({Exception.class})
   @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
   @ResponseBody
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.export;
+
+import static ru.practicum.shareit.utils.UtilsClass.getRestTemplate;
+
+import java.io.OutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.client.BaseClient;
+
+@Service
+public class ExportClient extends BaseClient {
+  private static final String API_PREFIX = "/export";
+
+  public ExportClient(
+      @Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    super(getRestTemplate(serverUrl, API_PREFIX, builder));
+  }
+
+  public void exportOwner(Long userId, OutputStream out) {
+    stream("/owner", userId, out);
+  }
+}
@@ -2,7 +2,11 @@ package ru.practicum.shareit.item;
 
 import static ru.practicum.shareit.utils.UtilsClass.getRestTemplate;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
@@ -19,31 +23,54 @@ public class ItemClient extends BaseClient {
     super(getRestTemplate(serverUrl, API_PREFIX, builder));
   }
 
-  public ResponseEntity<Object> create(Long userId, ItemDto itemDto) {
+  public CompletableFuture<ResponseEntity<Object>> create(Long userId, ItemDto itemDto) {
     return post("", userId, itemDto);
   }
 
-  public ResponseEntity<Object> updateFields(Long userId, Long itemId, Map<String, Object> fields) {
+  public CompletableFuture<ResponseEntity<Object>> createAll(Long userId, List<ItemDto> itemDtos) {
+    return post("/batch", userId, itemDtos);
+  }
+
+  public CompletableFuture<ResponseEntity<Object>> updateFields(Long userId, Long itemId, Map<String, Object> fields) {
     return patch("/" + itemId, userId, fields);
   }
 
-  public ResponseEntity<Object> findById(Long itemId, Long userId) {
+  public CompletableFuture<ResponseEntity<Object>> findById(Long itemId, Long userId) {
     return get("/" + itemId, userId);
   }
 
-  public ResponseEntity<Object> findAllByUserId(Long userId, Integer from, Integer size) {
-    Map<String, Object> parameters = Map.of("from", from, "size", size);
+  public CompletableFuture<ResponseEntity<Object>> findFreeSlots(Long itemId, LocalDateTime from, LocalDateTime to) {
+    Map<String, Object> parameters = Map.of("from", from, "to", to);
+
+    return get("/" + itemId + "/availability?from={from}&to={to}", null, parameters);
+  }
+
+  public CompletableFuture<ResponseEntity<Object>> findAllByUserId(
+      Long userId, Integer from, Integer size, String cursor) {
+    Map<String, Object> parameters = new HashMap<>(Map.of("from", from, "size", size));
+
+    return get(withCursor("?from={from}&size={size}", parameters, cursor), userId, parameters);
+  }
+
+  public CompletableFuture<ResponseEntity<Object>> search(
+      String text, Integer from, Integer size, String cursor, String sort) {
+    Map<String, Object> patameters = new HashMap<>(Map.of("text", text, "from", from, "size", size));
+    String path = withCursor("/search?text={text}&from={from}&size={size}", patameters, cursor);
+    if (sort != null) {
+      path += "&sort={sort}";
+      patameters.put("sort", sort);
+    }
 
-    return get("?from={from}&size={size}", userId, parameters);
+    return get(path, null, patameters);
   }
 
-  public ResponseEntity<Object> search(String text, Integer from, Integer size) {
-    Map<String, Object> patameters = Map.of("text", text, "from", from, "size", size);
+  public CompletableFuture<ResponseEntity<Object>> suggest(String prefix, Integer size) {
+    Map<String, Object> parameters = Map.of("prefix", prefix, "size", size);
 
-    return get("/search?text={text}&from={from}&size={size}", null, patameters);
+    return get("/suggest?prefix={prefix}&size={size}", null, parameters);
   }
 
-  public ResponseEntity<Object> addComment(
+  public CompletableFuture<ResponseEntity<Object>> addComment(
       Long itemId, Long userId, CommentRequestDto commentRequestDto) {
     return post(String.format("/%s/comment", itemId), userId, commentRequestDto);
   }
@@ -1,12 +1,20 @@
 package ru.practicum.shareit.item;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Pattern;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -29,17 +37,27 @@ import ru.practicum.shareit.item.dto.ItemDto;
 @Validated
 public class ItemController {
   private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+  private static final int MAX_BATCH_SIZE = 10_000;
+  private static final int MAX_SUGGEST_SIZE = 50;
   private final ItemClient itemClient;
 
   @PostMapping
-  public ResponseEntity<Object> create(
+  public CompletableFuture<ResponseEntity<Object>> create(
       @RequestHeader(USER_ID_HEADER) Long userId, @RequestBody @Valid ItemDto itemDto) {
     log.info("POST /items: userId={}, itemDto={}", userId, itemDto);
     return itemClient.create(userId, itemDto);
   }
 
+  @PostMapping("/batch")
+  public CompletableFuture<ResponseEntity<Object>> createAll(
+      @RequestHeader(USER_ID_HEADER) Long userId,
+      @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE) List<@Valid ItemDto> itemDtos) {
+    log.info("POST /items/batch: userId={}, items={}", userId, itemDtos.size());
+    return itemClient.createAll(userId, itemDtos);
+  }
+
   @PatchMapping("/{id}")
-  public ResponseEntity<Object> updateFields(
+  public CompletableFuture<ResponseEntity<Object>> updateFields(
       @RequestHeader(USER_ID_HEADER) Long userId,
       @PathVariable Long id,
       @RequestBody Map<String, Object> fields) {
@@ -48,38 +66,73 @@ public class ItemController {
   }
 
   @GetMapping("/{id}")
-  public ResponseEntity<Object> findItemById(
+  public CompletableFuture<ResponseEntity<Object>> findItemById(
       @PathVariable Long id, @RequestHeader(USER_ID_HEADER) Long userId) {
     log.info("GET /items/{id}: id={}, userId={}", id, userId);
     return itemClient.findById(id, userId);
   }
 
+  @GetMapping("/{id}/availability")
+  public CompletableFuture<ResponseEntity<Object>> findFreeSlots(
+      @PathVariable Long id,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+    log.info("GET /items/{id}/availability: id={}, from={}, to={}", id, from, to);
+    return itemClient.findFreeSlots(id, from, to);
+  }
+
   @GetMapping
-  public ResponseEntity<Object> findAllByUserId(
+  public CompletableFuture<ResponseEntity<Object>> findAllByUserId(
       @RequestHeader(USER_ID_HEADER) Long userId,
       @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero Integer from,
-      @RequestParam(name = "size", defaultValue = "10") @Min(1) Integer size) {
-    log.info("GET /items: userId={}, from={}, size={}", userId, from, size);
-    return itemClient.findAllByUserId(userId, from, size);
+      @RequestParam(name = "size", defaultValue = "10") @Min(1) Integer size,
+      @RequestParam(name = "cursor", required = false) String cursor) {
+    log.info("GET /items: userId={}, from={}, size={}, cursor={}", userId, from, size, cursor);
+    return itemClient.findAllByUserId(userId, from, size, cursor);
   }
 
   @GetMapping("/search")
-  public ResponseEntity<Object> search(
+  public CompletableFuture<ResponseEntity<Object>> search(
       @RequestParam String text,
       @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero Integer from,
-      @RequestParam(name = "size", defaultValue = "10") @Min(1) Integer size) {
-    log.info("GET /items/search: test={}, from={}, size={}", text, from, size);
+      @RequestParam(name = "size", defaultValue = "10") @Min(1) Integer size,
+      @RequestParam(name = "cursor", required = false) String cursor,
+      @RequestParam(name = "sort", required = false) @Pattern(regexp = "(?i)relevance")
+          String sort) {
+    log.info(
+        "GET /items/search: test={}, from={}, size={}, cursor={}, sort={}",
+        text,
+        from,
+        size,
+        cursor,
+        sort);
 
     if (text.isEmpty() || text.isBlank()) {
       log.error("Пустой запрос поиска");
-      return new ResponseEntity<>(Collections.emptyList(), HttpStatus.OK);
+      return CompletableFuture.completedFuture(
+          new ResponseEntity<>(Collections.emptyList(), HttpStatus.OK));
+    }
+
+    return itemClient.search(text, from, size, cursor, sort);
+  }
+
+  @GetMapping("/suggest")
+  public CompletableFuture<ResponseEntity<Object>> suggest(
+      @RequestParam String prefix,
+      @RequestParam(name = "size", defaultValue = "10") @Min(1) @Max(MAX_SUGGEST_SIZE)
+          Integer size) {
+    log.info("GET /items/suggest: prefix={}, size={}", prefix, size);
+
+    if (prefix.isBlank()) {
+      return CompletableFuture.completedFuture(
+          new ResponseEntity<>(Collections.emptyList(), HttpStatus.OK));
     }
 
-    return itemClient.search(text, from, size);
+    return itemClient.suggest(prefix, size);
   }
 
   @PostMapping("/{itemId}/comment")
-  public ResponseEntity<Object> addComment(
+  public CompletableFuture<ResponseEntity<Object>> addComment(
       @PathVariable Long itemId,
       @RequestHeader(USER_ID_HEADER) Long userId,
       @RequestBody @Valid CommentRequestDto commentRequestDto) {
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import ru.practicum.shareit.exception.ErrorResponse;
+import ru.practicum.shareit.ratelimit.UserRateLimiter.EndpointGroup;
+
+/**
+ * Limits requests per {@code X-Sharer-User-Id} (or per remote address for anonymous requests),
+ * with separate budgets for reads and writes. Rejected requests get {@code 429} and a
+ * {@code Retry-After} header.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+  private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+  private final UserRateLimiter userRateLimiter;
+  private final RateLimitProperties properties;
+  private final ObjectMapper objectMapper;
+  private final MeterRegistry meterRegistry;
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !properties.isEnabled() || request.getRequestURI().startsWith("/actuator");
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    String userId = request.getHeader(USER_ID_HEADER);
+    String client = userId != null ? "user:" + userId : "ip:" + request.getRemoteAddr();
+    EndpointGroup group = isRead(request) ? EndpointGroup.READ : EndpointGroup.WRITE;
+
+    long waitNanos = userRateLimiter.tryAcquire(client, group);
+    if (waitNanos == 0) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    long nanosPerSecond = TimeUnit.SECONDS.toNanos(1);
+    long retryAfter = Math.max(1, (waitNanos + nanosPerSecond - 1) / nanosPerSecond);
+    log.warn(
+        "Превышен лимит запросов: client={}, group={}, retryAfter={}s", client, group, retryAfter);
+    Counter.builder("gateway.ratelimit.rejected")
+        .description("Requests rejected by the per-user rate limit")
+        .tag("group", group.name().toLowerCase(Locale.ROOT))
+        .register(meterRegistry)
+        .increment();
+
+    response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+    response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    response.setCharacterEncoding("UTF-8");
+    objectMapper.writeValue(response.getOutputStream(), new ErrorResponse("Слишком много запросов"));
+  }
+
+  private static boolean isRead(HttpServletRequest request) {
+    String method = request.getMethod();
+    return HttpMethod.GET.matches(method)
+        || HttpMethod.HEAD.matches(method)
+        || HttpMethod.OPTIONS.matches(method);
+  }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.ratelimit;
+
+import java.time.Duration;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "shareit.rate-limit")
+public class RateLimitProperties {
+  private boolean enabled = true;
+  private Limit read = new Limit(100, 20);
+  private Limit write = new Limit(20, 5);
+  private Duration idleTimeout = Duration.ofMinutes(5);
+  private long maxBuckets = 100_000;
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Limit {
+    private long capacity;
+    private double refillPerSecond;
+  }
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket kept as a single "theoretical arrival time": the moment the bucket would be full
+ * again. Taking a token moves it forward by one refill interval and is allowed while it stays
+ * within {@code capacity} intervals of now, so every update is one compare-and-set on a long.
+ */
+class TokenBucket {
+  private final long nanosPerToken;
+  private final long burstNanos;
+  private final AtomicLong fullAt;
+
+  TokenBucket(RateLimitProperties.Limit limit, long now) {
+    this.nanosPerToken = (long) (TimeUnit.SECONDS.toNanos(1) / limit.getRefillPerSecond());
+    this.burstNanos = nanosPerToken * limit.getCapacity();
+    this.fullAt = new AtomicLong(now);
+  }
+
+  /** Returns 0 if a token was taken, otherwise the nanoseconds until one becomes available. */
+  long tryAcquire(long now) {
+    while (true) {
+      long current = fullAt.get();
+      long next = Math.max(current, now) + nanosPerToken;
+      long waitNanos = next - now - burstNanos;
+      if (waitNanos > 0) {
+        return waitNanos;
+      }
+      if (fullAt.compareAndSet(current, next)) {
+        return 0;
+      }
+    }
+  }
+
+  boolean isIdle(long now, long idleNanos) {
+    return now - fullAt.get() > idleNanos;
+  }
+}
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * One token bucket per client and endpoint group. A bucket that has been full for longer than the
+ * idle timeout behaves exactly like a new one, so such buckets are dropped periodically. The number
+ * of buckets is also capped: when a flood of distinct clients fills the map before the next sweep,
+ * the least recently used buckets are evicted instead of growing the heap.
+ */
+@Component
+@EnableConfigurationProperties(RateLimitProperties.class)
+@Slf4j
+public class UserRateLimiter {
+  private final RateLimitProperties properties;
+  private final Cache<BucketKey, TokenBucket> buckets;
+
+  public UserRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.buckets = Caffeine.newBuilder().maximumSize(properties.getMaxBuckets()).build();
+    Gauge.builder("gateway.ratelimit.buckets", buckets, Cache::estimatedSize)
+        .description("Token buckets currently kept in memory")
+        .register(meterRegistry);
+  }
+
+  /** Returns 0 if the request is allowed, otherwise the nanoseconds until it would be. */
+  public long tryAcquire(String client, EndpointGroup group) {
+    long now = System.nanoTime();
+    RateLimitProperties.Limit limit =
+        group == EndpointGroup.READ ? properties.getRead() : properties.getWrite();
+    return buckets
+        .get(new BucketKey(client, group), key -> new TokenBucket(limit, now))
+        .tryAcquire(now);
+  }
+
+  @Scheduled(fixedDelayString = "${shareit.rate-limit.evict-interval-ms:60000}")
+  public void evictIdle() {
+    long now = System.nanoTime();
+    long idleNanos = properties.getIdleTimeout().toNanos();
+    long before = buckets.estimatedSize();
+    buckets.asMap().values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+    buckets.cleanUp();
+    log.debug("Удалено неактивных корзин: {}", before - buckets.estimatedSize());
+  }
+
+  public enum EndpointGroup {
+    READ,
+    WRITE
+  }
+
+  @Value
+  private static class BucketKey {
+    String client;
+    EndpointGroup group;
+  }
+}
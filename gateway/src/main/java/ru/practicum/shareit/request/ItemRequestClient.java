@@ -7,7 +7,9 @@ import org.springframework.stereotype.Service;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import static ru.practicum.shareit.utils.UtilsClass.getRestTemplate;
 
@@ -20,20 +22,20 @@ public class ItemRequestClient extends BaseClient {
     super(getRestTemplate(serverUrl, API_PREFIX, builder));
   }
 
-  public ResponseEntity<Object> addRequest(Long userId, ItemRequestDto itemRequestDto) {
+  public CompletableFuture<ResponseEntity<Object>> addRequest(Long userId, ItemRequestDto itemRequestDto) {
     return post("", userId, itemRequestDto);
   }
 
-  public ResponseEntity<Object> findAllByOwnerRequestId(Long userId) {
+  public CompletableFuture<ResponseEntity<Object>> findAllByOwnerRequestId(Long userId) {
     return get("", userId);
   }
 
-  public ResponseEntity<Object> findAll(Long userId, Integer from, Integer size) {
-    Map<String, Object> parameters = Map.of("from", from, "size", size);
-    return get("/all?from={from}&size={size}", userId, parameters);
+  public CompletableFuture<ResponseEntity<Object>> findAll(Long userId, Integer from, Integer size, String cursor) {
+    Map<String, Object> parameters = new HashMap<>(Map.of("from", from, "size", size));
+    return get(withCursor("/all?from={from}&size={size}", parameters, cursor), userId, parameters);
   }
 
-  public ResponseEntity<Object> findByRequestId(Long userId, Long requestId) {
+  public CompletableFuture<ResponseEntity<Object>> findByRequestId(Long userId, Long requestId) {
     return get("/" + requestId, userId);
   }
 }
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request;
 
+import java.util.concurrent.CompletableFuture;
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.PositiveOrZero;
@@ -27,7 +28,7 @@ public class ItemRequestController {
   private final ItemRequestClient itemRequestClient;
 
   @PostMapping
-  public ResponseEntity<Object> addRequest(
+  public CompletableFuture<ResponseEntity<Object>> addRequest(
       @RequestHeader(USER_ID_HEADER) Long userId,
       @RequestBody @Valid ItemRequestDto itemRequestDto) {
     log.info("POST /requests: userId={}, itemRequestDto={}", userId, itemRequestDto);
@@ -35,24 +36,25 @@ public class ItemRequestController {
   }
 
   @GetMapping
-  public ResponseEntity<Object> findAllByOwnerRequestId(
+  public CompletableFuture<ResponseEntity<Object>> findAllByOwnerRequestId(
       @RequestHeader(USER_ID_HEADER) Long userId) {
     log.info("GET /requests: userId={}", userId);
     return itemRequestClient.findAllByOwnerRequestId(userId);
   }
 
   @GetMapping("/all")
-  public ResponseEntity<Object> findAll(
+  public CompletableFuture<ResponseEntity<Object>> findAll(
       @RequestHeader(USER_ID_HEADER) Long userId,
       @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero Integer from,
-      @RequestParam(name = "size", defaultValue = "10") @Min(1) Integer size) {
-    log.info("GET /requests/all: from={}, size={}", from, size);
+      @RequestParam(name = "size", defaultValue = "10") @Min(1) Integer size,
+      @RequestParam(name = "cursor", required = false) String cursor) {
+    log.info("GET /requests/all: from={}, size={}, cursor={}", from, size, cursor);
 
-    return itemRequestClient.findAll(userId, from, size);
+    return itemRequestClient.findAll(userId, from, size, cursor);
   }
 
   @GetMapping("/{requestId}")
-  public ResponseEntity<Object> findByRequestId(
+  public CompletableFuture<ResponseEntity<Object>> findByRequestId(
       @RequestHeader(USER_ID_HEADER) Long userId, @PathVariable Long requestId) {
     log.info("GET /requests/{requestId}: userId={}, requestId={}", userId, requestId);
     return itemRequestClient.findByRequestId(userId, requestId);
@@ -2,6 +2,9 @@ package ru.practicum.shareit.user;
 
 import static ru.practicum.shareit.utils.UtilsClass.getRestTemplate;
 
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
@@ -17,23 +20,32 @@ public class UserClient extends BaseClient {
     super(getRestTemplate(serverUrl, API_PREFIX, builder));
   }
 
-  public ResponseEntity<Object> create(UserDto userDto) {
+  public CompletableFuture<ResponseEntity<Object>> create(UserDto userDto) {
     return post("", userDto);
   }
 
-  public ResponseEntity<Object> update(UserDto userDto, Long id) {
+  public CompletableFuture<ResponseEntity<Object>> update(UserDto userDto, Long id) {
     return patch("/" + id, userDto);
   }
 
-  public ResponseEntity<Object> findById(Long id) {
+  public CompletableFuture<ResponseEntity<Object>> findById(Long id) {
     return get("/" + id);
   }
 
-  public ResponseEntity<Object> removeById(Long id) {
+  public CompletableFuture<ResponseEntity<Object>> removeById(Long id) {
     return delete("/" + id);
   }
 
-  public ResponseEntity<Object> findAll() {
-    return get("");
+  public CompletableFuture<ResponseEntity<Object>> findAll(Integer from, Integer size) {
+    if (size == null) {
+      return get("");
+    }
+    Map<String, Object> parameters = Map.of("from", from, "size", size);
+
+    return get("?from={from}&size={size}", null, parameters);
+  }
+
+  public void streamAll(OutputStream out) {
+    stream("", null, out);
   }
 }
@@ -1,7 +1,11 @@
 package ru.practicum.shareit.user;
 
+import java.util.concurrent.CompletableFuture;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -11,7 +15,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.groups.Group;
 import ru.practicum.shareit.user.dto.UserDto;
 
@@ -19,18 +25,19 @@ import ru.practicum.shareit.user.dto.UserDto;
 @RestController
 @RequestMapping(path = "/users")
 @Slf4j
+@Validated
 public class UserController {
   private final UserClient userClient;
 
   @PostMapping
-  public ResponseEntity<Object> create(
+  public CompletableFuture<ResponseEntity<Object>> create(
       @Validated({Group.OnInsert.class}) @RequestBody UserDto userDto) {
     log.info("POST /users: userDto={}", userDto);
     return userClient.create(userDto);
   }
 
   @PatchMapping("/{id}")
-  public ResponseEntity<Object> update(
+  public CompletableFuture<ResponseEntity<Object>> update(
       @Validated({Group.OnUpdate.class}) @RequestBody UserDto userDto, @PathVariable Long id) {
     log.info("PATCH /users/{id}: id={}, userDto={}", id, userDto);
 
@@ -38,21 +45,29 @@ public class UserController {
   }
 
   @GetMapping("/{id}")
-  public ResponseEntity<Object> findById(@PathVariable Long id) {
+  public CompletableFuture<ResponseEntity<Object>> findById(@PathVariable Long id) {
     log.info("GET /users/{id}: id={}", id);
 
     return userClient.findById(id);
   }
 
   @DeleteMapping("/{id}")
-  public ResponseEntity<Object> removeById(@PathVariable Long id) {
+  public CompletableFuture<ResponseEntity<Object>> removeById(@PathVariable Long id) {
     log.info("DELETE /users/{id}: id={}", id);
     return userClient.removeById(id);
   }
 
   @GetMapping
-  public ResponseEntity<Object> findAll() {
-    log.info("GET /users");
-    return userClient.findAll();
+  public CompletableFuture<ResponseEntity<Object>> findAll(
+      @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero Integer from,
+      @RequestParam(name = "size", required = false) @Min(1) Integer size) {
+    log.info("GET /users: from={}, size={}", from, size);
+    return userClient.findAll(from, size);
+  }
+
+  @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> streamAll() {
+    log.info("GET /users: ndjson");
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(userClient::streamAll);
   }
 }
@@ -0,0 +1,151 @@
+package ru.practicum.shareit.booking;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * Gateway throughput on {@code GET /bookings/owner?size=100} with the response relayed as an
+ * unparsed stream against the parsing mode. The server is replaced by a local stub returning a
+ * fixed page, so the numbers reflect only the gateway's own work. Run with {@code mvn -pl gateway
+ * test -Dtest=BookingOwnerThroughputBenchmark -Dbenchmark=true}.
+ */
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+      "shareit-server.coalesce-gets=false",
+      "shareit-server.concurrency-limit.enabled=false",
+      "shareit.rate-limit.enabled=false",
+      "logging.level.org.springframework.web.client.RestTemplate=INFO",
+      "logging.level.ru.practicum.shareit=WARN",
+      "logging.level.ru.practicum.shareit.booking.BookingOwnerThroughputBenchmark=INFO"
+    })
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Slf4j
+class BookingOwnerThroughputBenchmark {
+  private static final int BOOKINGS = 100;
+  private static final int THREADS = Integer.getInteger("benchmark.threads", 8);
+  private static final long SECONDS = Long.getLong("benchmark.seconds", 10);
+  private static final int ROUNDS = Integer.getInteger("benchmark.rounds", 3);
+  private static final byte[] PAGE = page().getBytes(StandardCharsets.UTF_8);
+
+  private static HttpServer server;
+
+  @LocalServerPort private int port;
+  @Autowired private BookingClient bookingClient;
+
+  @DynamicPropertySource
+  static void serverUrl(DynamicPropertyRegistry registry) throws IOException {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/bookings/owner", BookingOwnerThroughputBenchmark::ownerBookings);
+    server.setExecutor(Executors.newFixedThreadPool(THREADS));
+    server.start();
+    registry.add(
+        "shareit-server.url", () -> "http://localhost:" + server.getAddress().getPort());
+  }
+
+  private static void ownerBookings(HttpExchange exchange) throws IOException {
+    exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+    exchange.sendResponseHeaders(HttpStatus.OK.value(), PAGE.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(PAGE);
+    }
+  }
+
+  private static String page() {
+    return IntStream.rangeClosed(1, BOOKINGS)
+        .mapToObj(
+            i ->
+                String.format(
+                    "{\"id\":%d,\"start\":\"2030-01-01T10:00:00\",\"end\":\"2030-01-01T12:00:00\","
+                        + "\"status\":\"WAITING\",\"booker\":{\"id\":2,\"name\":\"Иван\"},"
+                        + "\"item\":{\"id\":%d,\"name\":\"Дрель %d\"}}",
+                    i, i % 20, i % 20))
+        .collect(Collectors.joining(",", "[", "]"));
+  }
+
+  @AfterAll
+  static void stopServer() {
+    server.stop(0);
+  }
+
+  @Test
+  void comparePassThroughAndParsing() throws Exception {
+    for (int round = 1; round <= ROUNDS; round++) {
+      for (boolean passThrough : new boolean[] {false, true}) {
+        bookingClient.setPassThrough(passThrough);
+        long requests = run();
+        log.info(
+            "Раунд {}, {}: {} запросов/с",
+            round,
+            passThrough ? "без разбора" : "с разбором",
+            requests / SECONDS);
+      }
+    }
+  }
+
+  private long run() throws Exception {
+    HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    HttpRequest request =
+        HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/bookings/owner?size=" + BOOKINGS))
+            .header("X-Sharer-User-Id", "1")
+            .build();
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(SECONDS);
+
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      List<Future<Long>> workers = new ArrayList<>();
+      for (int i = 0; i < THREADS; i++) {
+        workers.add(
+            executor.submit(
+                () -> {
+                  long done = 0;
+                  while (System.nanoTime() < deadline) {
+                    HttpResponse<byte[]> response =
+                        client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                    assertThat(response.statusCode()).isEqualTo(HttpStatus.OK.value());
+                    done++;
+                  }
+                  return done;
+                }));
+      }
+      long total = 0;
+      for (Future<Long> worker : workers) {
+        total += worker.get();
+      }
+      return total;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
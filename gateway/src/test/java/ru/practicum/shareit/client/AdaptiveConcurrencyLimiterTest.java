@@ -0,0 +1,150 @@
+package ru.practicum.shareit.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+      "shareit-server.coalesce-gets=false",
+      "shareit-server.concurrency-limit.initial-limit=8",
+      "shareit-server.concurrency-limit.min-limit=2",
+      "shareit-server.concurrency-limit.latency-threshold=100ms"
+    })
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class AdaptiveConcurrencyLimiterTest {
+  private static final int INITIAL_LIMIT = 8;
+  private static final long SLOW_MS = 300;
+  private static final byte[] USER =
+      "{\"id\":1,\"name\":\"Иван\",\"email\":\"ivan@mail.ru\"}".getBytes(StandardCharsets.UTF_8);
+
+  private static HttpServer server;
+
+  @LocalServerPort private int port;
+  @Autowired private MeterRegistry meterRegistry;
+
+  private final HttpClient client =
+      HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+  @DynamicPropertySource
+  static void serverUrl(DynamicPropertyRegistry registry) throws IOException {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/users/1", AdaptiveConcurrencyLimiterTest::slowUser);
+    server.createContext("/users/2", AdaptiveConcurrencyLimiterTest::failingUser);
+    server.setExecutor(Executors.newCachedThreadPool());
+    server.start();
+    registry.add(
+        "shareit-server.url", () -> "http://localhost:" + server.getAddress().getPort());
+  }
+
+  private static void slowUser(HttpExchange exchange) throws IOException {
+    try {
+      Thread.sleep(SLOW_MS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+    exchange.sendResponseHeaders(HttpStatus.OK.value(), USER.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(USER);
+    }
+  }
+
+  private static void failingUser(HttpExchange exchange) throws IOException {
+    byte[] body = "{\"error\":\"Internal Server Error\"}".getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+    exchange.sendResponseHeaders(HttpStatus.INTERNAL_SERVER_ERROR.value(), body.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+
+  @AfterAll
+  static void stopServer() {
+    server.stop(0);
+  }
+
+  @Test
+  void slowResponsesShrinkLimit() throws Exception {
+    for (int i = 0; i < 3; i++) {
+      assertThat(get("/users/1").statusCode()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    assertThat(limit()).isLessThan(INITIAL_LIMIT);
+  }
+
+  @Test
+  void serverErrorsShrinkLimit() throws Exception {
+    for (int i = 0; i < 3; i++) {
+      assertThat(get("/users/2").statusCode())
+          .isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR.value());
+    }
+
+    assertThat(limit()).isLessThan(INITIAL_LIMIT);
+  }
+
+  @Test
+  void callsOverLimitAreRejectedWithRetryAfter() throws Exception {
+    int calls = 3 * INITIAL_LIMIT;
+    List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+    for (int i = 0; i < calls; i++) {
+      responses.add(client.sendAsync(request("/users/1"), HttpResponse.BodyHandlers.ofString()));
+    }
+
+    int passed = 0;
+    int rejected = 0;
+    for (CompletableFuture<HttpResponse<String>> response : responses) {
+      HttpResponse<String> result = response.get(10, TimeUnit.SECONDS);
+      if (result.statusCode() == HttpStatus.OK.value()) {
+        passed++;
+      } else {
+        assertThat(result.statusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+        assertThat(result.headers().firstValue(HttpHeaders.RETRY_AFTER)).hasValue("1");
+        rejected++;
+      }
+    }
+
+    assertThat(passed).isPositive().isLessThanOrEqualTo(INITIAL_LIMIT);
+    assertThat(rejected).isGreaterThanOrEqualTo(calls - INITIAL_LIMIT);
+    assertThat(limit()).isLessThan(INITIAL_LIMIT);
+  }
+
+  private double limit() {
+    return meterRegistry.get("gateway.concurrency.limit").gauge().value();
+  }
+
+  private HttpResponse<String> get(String path) throws Exception {
+    return client.send(request(path), HttpResponse.BodyHandlers.ofString());
+  }
+
+  private HttpRequest request(String path) {
+    return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build();
+  }
+}
@@ -0,0 +1,129 @@
+package ru.practicum.shareit.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class BaseClientCoalesceTest {
+  private static final int FOLLOWERS = 4;
+  private static final long SERVER_DELAY_MS = 1000;
+  private static final byte[] FIRST_CHUNK =
+      ("[" + "{\"id\":1}, ".repeat(8192)).getBytes(StandardCharsets.UTF_8);
+  private static final byte[] LAST_CHUNK = "{\"id\":1}]".getBytes(StandardCharsets.UTF_8);
+
+  private static final CountDownLatch firstChunkRead = new CountDownLatch(1);
+  private static final AtomicInteger serverCalls = new AtomicInteger();
+  private static HttpServer server;
+
+  @LocalServerPort private int port;
+
+  private final HttpClient client =
+      HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+  @DynamicPropertySource
+  static void serverUrl(DynamicPropertyRegistry registry) throws IOException {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/users/1", BaseClientCoalesceTest::streamedUser);
+    server.createContext("/users/2", BaseClientCoalesceTest::slowUser);
+    server.setExecutor(Executors.newCachedThreadPool());
+    server.start();
+    registry.add(
+        "shareit-server.url", () -> "http://localhost:" + server.getAddress().getPort());
+  }
+
+  private static void streamedUser(HttpExchange exchange) throws IOException {
+    exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+    exchange.sendResponseHeaders(HttpStatus.OK.value(), 0);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(FIRST_CHUNK);
+      out.flush();
+      firstChunkRead.await(10, TimeUnit.SECONDS);
+      out.write(LAST_CHUNK);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void slowUser(HttpExchange exchange) throws IOException {
+    serverCalls.incrementAndGet();
+    byte[] body = "{\"id\":2,\"name\":\"Иван\"}".getBytes(StandardCharsets.UTF_8);
+    try {
+      Thread.sleep(SERVER_DELAY_MS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+    exchange.sendResponseHeaders(HttpStatus.OK.value(), body.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+
+  @AfterAll
+  static void stopServer() {
+    server.stop(0);
+  }
+
+  @Test
+  void singleGetIsStreamedWithoutBuffering() throws Exception {
+    HttpResponse<InputStream> response =
+        client
+            .sendAsync(request("/users/1"), HttpResponse.BodyHandlers.ofInputStream())
+            .get(5, TimeUnit.SECONDS);
+    assertThat(response.statusCode()).isEqualTo(HttpStatus.OK.value());
+
+    try (InputStream body = response.body()) {
+      assertThat(body.read()).isEqualTo('[');
+      firstChunkRead.countDown();
+
+      byte[] rest = body.readAllBytes();
+      assertThat(rest.length + 1).isEqualTo(FIRST_CHUNK.length + LAST_CHUNK.length);
+    }
+  }
+
+  @Test
+  void identicalGetsInFlightShareOneServerCall() throws Exception {
+    List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+    for (int i = 0; i <= FOLLOWERS; i++) {
+      responses.add(client.sendAsync(request("/users/2"), HttpResponse.BodyHandlers.ofString()));
+    }
+
+    for (CompletableFuture<HttpResponse<String>> response : responses) {
+      HttpResponse<String> result = response.get(10, TimeUnit.SECONDS);
+      assertThat(result.statusCode()).isEqualTo(HttpStatus.OK.value());
+      assertThat(result.body()).isEqualTo("{\"id\":2,\"name\":\"Иван\"}");
+    }
+    assertThat(serverCalls).hasValue(1);
+  }
+
+  private HttpRequest request(String path) {
+    return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build();
+  }
+}
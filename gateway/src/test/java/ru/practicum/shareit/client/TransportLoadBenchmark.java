@@ -0,0 +1,145 @@
+package ru.practicum.shareit.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.shareit.user.UserClient;
+
+/**
+ * Gateway throughput with the same number of Tomcat threads for the blocking and the asynchronous
+ * transport, in front of a stub server that answers after a fixed delay. Run with {@code mvn -pl
+ * gateway test -Dtest=TransportLoadBenchmark -Dbenchmark=true}.
+ */
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+      "server.tomcat.threads.max=10",
+      "server.tomcat.threads.min-spare=10",
+      "shareit-server.transport=async",
+      "shareit-server.coalesce-gets=false",
+      "shareit-server.concurrency-limit.enabled=false",
+      "shareit.rate-limit.enabled=false",
+      "logging.level.org.springframework.web.client.RestTemplate=INFO",
+      "logging.level.ru.practicum.shareit=WARN",
+      "logging.level.ru.practicum.shareit.client.TransportLoadBenchmark=INFO"
+    })
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Slf4j
+class TransportLoadBenchmark {
+  private static final int CLIENTS = Integer.getInteger("benchmark.clients", 100);
+  private static final long SERVER_DELAY_MS = Long.getLong("benchmark.delay-ms", 200);
+  private static final long SECONDS = Long.getLong("benchmark.seconds", 10);
+  private static final byte[] USER =
+      "{\"id\":1,\"name\":\"Иван\",\"email\":\"ivan@mail.ru\"}".getBytes(StandardCharsets.UTF_8);
+
+  private static HttpServer server;
+
+  @LocalServerPort private int port;
+  @Autowired private UserClient userClient;
+  @Autowired private AsyncTransport asyncTransport;
+
+  @DynamicPropertySource
+  static void serverUrl(DynamicPropertyRegistry registry) throws IOException {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), CLIENTS);
+    server.createContext("/users", TransportLoadBenchmark::slowUser);
+    server.setExecutor(Executors.newCachedThreadPool());
+    server.start();
+    registry.add(
+        "shareit-server.url", () -> "http://localhost:" + server.getAddress().getPort());
+  }
+
+  private static void slowUser(HttpExchange exchange) throws IOException {
+    try {
+      Thread.sleep(SERVER_DELAY_MS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+    exchange.sendResponseHeaders(HttpStatus.OK.value(), USER.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(USER);
+    }
+  }
+
+  @AfterAll
+  static void stopServer() {
+    server.stop(0);
+  }
+
+  @Test
+  void compareBlockingAndAsyncTransport() throws Exception {
+    userClient.setAsyncTransport(null);
+    long blocking = run();
+    userClient.setAsyncTransport(asyncTransport);
+    long async = run();
+
+    log.info(
+        "{} клиентов, 10 потоков Tomcat, задержка сервера {} мс: блокирующий {} запросов/с,"
+            + " асинхронный {} запросов/с",
+        CLIENTS,
+        SERVER_DELAY_MS,
+        blocking / SECONDS,
+        async / SECONDS);
+    assertThat(async).isGreaterThan(blocking);
+  }
+
+  private long run() throws Exception {
+    HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    HttpRequest request =
+        HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users/1")).build();
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(SECONDS);
+
+    ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+    try {
+      List<Future<Long>> workers = new ArrayList<>();
+      for (int i = 0; i < CLIENTS; i++) {
+        workers.add(
+            executor.submit(
+                () -> {
+                  long done = 0;
+                  while (System.nanoTime() < deadline) {
+                    HttpResponse<byte[]> response =
+                        client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                    assertThat(response.statusCode()).isEqualTo(HttpStatus.OK.value());
+                    done++;
+                  }
+                  return done;
+                }));
+      }
+      long total = 0;
+      for (Future<Long> worker : workers) {
+        total += worker.get();
+      }
+      return total;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
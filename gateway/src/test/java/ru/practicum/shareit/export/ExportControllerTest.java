@@ -0,0 +1,78 @@
+package ru.practicum.shareit.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+      "spring.mvc.async.request-timeout=200ms",
+      "shareit.streaming.request-timeout=10s"
+    })
+class ExportControllerTest {
+  private static final int LINES = 10;
+  private static final long PAUSE_MS = 300;
+
+  private static HttpServer server;
+
+  @Autowired private TestRestTemplate restTemplate;
+
+  @DynamicPropertySource
+  static void serverUrl(DynamicPropertyRegistry registry) throws IOException {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/export/owner", ExportControllerTest::slowExport);
+    server.start();
+    registry.add(
+        "shareit-server.url", () -> "http://localhost:" + server.getAddress().getPort());
+  }
+
+  private static void slowExport(HttpExchange exchange) throws IOException {
+    exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, "application/x-ndjson");
+    exchange.sendResponseHeaders(HttpStatus.OK.value(), 0);
+    try (OutputStream out = exchange.getResponseBody()) {
+      for (int i = 0; i < LINES; i++) {
+        out.write(("{\"id\":" + i + "}\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+        Thread.sleep(PAUSE_MS);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @AfterAll
+  static void stopServer() {
+    server.stop(0);
+  }
+
+  @Test
+  void exportOutlivesRegularAsyncTimeout() {
+    HttpHeaders headers = new HttpHeaders();
+    headers.set("X-Sharer-User-Id", "1");
+
+    ResponseEntity<String> response =
+        restTemplate.exchange(
+            "/export/owner", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(response.getBody()).hasLineCount(LINES);
+  }
+}
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+  private static final long START = TimeUnit.HOURS.toNanos(1);
+  private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(500);
+  private static final RateLimitProperties.Limit LIMIT = new RateLimitProperties.Limit(3, 2);
+
+  private final TokenBucket bucket = new TokenBucket(LIMIT, START);
+
+  @Test
+  void newBucketAllowsBurstOfCapacity() {
+    assertThat(bucket.tryAcquire(START)).isZero();
+    assertThat(bucket.tryAcquire(START)).isZero();
+    assertThat(bucket.tryAcquire(START)).isZero();
+
+    assertThat(bucket.tryAcquire(START)).isEqualTo(INTERVAL);
+  }
+
+  @Test
+  void rejectedRequestReportsTimeUntilNextToken() {
+    drain(START);
+
+    assertThat(bucket.tryAcquire(START + INTERVAL / 5)).isEqualTo(INTERVAL - INTERVAL / 5);
+    assertThat(bucket.tryAcquire(START + INTERVAL)).isZero();
+    assertThat(bucket.tryAcquire(START + INTERVAL)).isEqualTo(INTERVAL);
+  }
+
+  @Test
+  void rejectedRequestDoesNotConsumeToken() {
+    drain(START);
+    for (int i = 0; i < 10; i++) {
+      bucket.tryAcquire(START);
+    }
+
+    assertThat(bucket.tryAcquire(START + INTERVAL)).isZero();
+  }
+
+  @Test
+  void idleBucketRefillsOnlyUpToCapacity() {
+    drain(START);
+    long later = START + TimeUnit.MINUTES.toNanos(10);
+
+    drain(later);
+    assertThat(bucket.tryAcquire(later)).isEqualTo(INTERVAL);
+  }
+
+  @Test
+  void bucketIsIdleOnceFullForLongerThanTimeout() {
+    long idle = TimeUnit.SECONDS.toNanos(1);
+    drain(START);
+    long full = START + 3 * INTERVAL;
+
+    assertThat(bucket.isIdle(START + idle, idle)).isFalse();
+    assertThat(bucket.isIdle(full + idle, idle)).isFalse();
+    assertThat(bucket.isIdle(full + idle + 1, idle)).isTrue();
+  }
+
+  @Test
+  void concurrentCallersTakeExactlyCapacityTokens() throws Exception {
+    int threads = 16;
+    TokenBucket shared = new TokenBucket(new RateLimitProperties.Limit(100, 1), START);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+    try {
+      List<Future<Integer>> results = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        results.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  int taken = 0;
+                  for (int j = 0; j < 50; j++) {
+                    if (shared.tryAcquire(START) == 0) {
+                      taken++;
+                    }
+                  }
+                  return taken;
+                }));
+      }
+      start.countDown();
+
+      int taken = 0;
+      for (Future<Integer> result : results) {
+        taken += result.get(10, TimeUnit.SECONDS);
+      }
+      assertThat(taken).isEqualTo(100);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private void drain(long now) {
+    for (int i = 0; i < LIMIT.getCapacity(); i++) {
+      assertThat(bucket.tryAcquire(now)).isZero();
+    }
+  }
+}
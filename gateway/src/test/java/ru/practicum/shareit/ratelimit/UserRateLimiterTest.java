@@ -0,0 +1,42 @@
+package ru.practicum.shareit.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.ratelimit.UserRateLimiter.EndpointGroup;
+
+class UserRateLimiterTest {
+  private static final long MAX_BUCKETS = 100;
+
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final UserRateLimiter limiter = new UserRateLimiter(properties(), meterRegistry);
+
+  @Test
+  void bucketCountStaysWithinCapForManyDistinctClients() {
+    for (int i = 0; i < 50 * MAX_BUCKETS; i++) {
+      assertThat(limiter.tryAcquire("client-" + i, EndpointGroup.READ)).isZero();
+    }
+    limiter.evictIdle();
+
+    assertThat(meterRegistry.get("gateway.ratelimit.buckets").gauge().value())
+        .isLessThanOrEqualTo(MAX_BUCKETS);
+  }
+
+  @Test
+  void clientsAndGroupsHaveSeparateBuckets() {
+    assertThat(limiter.tryAcquire("first", EndpointGroup.WRITE)).isZero();
+    assertThat(limiter.tryAcquire("first", EndpointGroup.WRITE)).isPositive();
+
+    assertThat(limiter.tryAcquire("first", EndpointGroup.READ)).isZero();
+    assertThat(limiter.tryAcquire("second", EndpointGroup.WRITE)).isZero();
+  }
+
+  private static RateLimitProperties properties() {
+    RateLimitProperties properties = new RateLimitProperties();
+    properties.setWrite(new RateLimitProperties.Limit(1, 0.001));
+    properties.setMaxBuckets(MAX_BUCKETS);
+    return properties;
+  }
+}
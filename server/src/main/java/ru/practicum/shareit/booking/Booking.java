@@ -11,6 +11,7 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -33,7 +34,8 @@ import ru.practicum.shareit.user.User;
 @Table(name = "bookings")
 public class Booking {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+  @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
   private long id;
 
   @Column(name = "start_date")
@@ -1,12 +1,15 @@
 package ru.practicum.shareit.booking;
 
+import static ru.practicum.shareit.utils.UtilsClass.decodeCursor;
+import static ru.practicum.shareit.utils.UtilsClass.encodeCursor;
 import static ru.practicum.shareit.utils.UtilsClass.getPageable;
+import static ru.practicum.shareit.utils.UtilsClass.setNextCursor;
 
 import java.util.Arrays;
 import java.util.List;
+import javax.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Pageable;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -63,10 +66,17 @@ public class BookingController {
       @RequestHeader(USER_ID_HEADER) Long userId,
       @RequestParam(name = "state", defaultValue = "ALL") String state,
       @RequestParam(name = "from", defaultValue = "0") Integer from,
-      @RequestParam(name = "size", defaultValue = "10") Integer size) {
-    log.info("GET /bookings: userId={}, state={}, from={}, size={}", userId, state, from, size);
+      @RequestParam(name = "size", defaultValue = "10") Integer size,
+      @RequestParam(name = "cursor", required = false) String cursor,
+      HttpServletResponse response) {
+    log.info(
+        "GET /bookings: userId={}, state={}, from={}, size={}, cursor={}",
+        userId,
+        state,
+        from,
+        size,
+        cursor);
 
-    Pageable pageable = getPageable(from, size);
     BookingState bookingState =
         Arrays.stream(BookingState.values())
             .filter(bState -> state.equalsIgnoreCase(bState.toString()))
@@ -76,7 +86,15 @@ public class BookingController {
                     new CustomException.BookingStateException(
                         String.format("Unknown state: %s", state)));
 
-    return bookingService.getAllBookingsForBooker(userId, bookingState, pageable);
+    List<BookingResponseDto> bookings =
+        cursor != null
+            ? bookingService.getAllBookingsForBookerBefore(
+                userId, bookingState, decodeCursor(cursor, true), size)
+            : bookingService.getAllBookingsForBooker(userId, bookingState, getPageable(from, size));
+
+    setNextCursor(
+        response, bookings, size, booking -> encodeCursor(booking.getEnd(), booking.getId()));
+    return bookings;
   }
 
   @GetMapping(path = "/owner")
@@ -84,11 +102,17 @@ public class BookingController {
       @RequestHeader(USER_ID_HEADER) Long userId,
       @RequestParam(name = "state", defaultValue = "ALL") String state,
       @RequestParam(name = "from", defaultValue = "0") Integer from,
-      @RequestParam(name = "size", defaultValue = "10") Integer size) {
+      @RequestParam(name = "size", defaultValue = "10") Integer size,
+      @RequestParam(name = "cursor", required = false) String cursor,
+      HttpServletResponse response) {
     log.info(
-        "GET /bookings/owner: userId={}, state={}, from={}, size={}", userId, state, from, size);
+        "GET /bookings/owner: userId={}, state={}, from={}, size={}, cursor={}",
+        userId,
+        state,
+        from,
+        size,
+        cursor);
 
-    Pageable pageable = getPageable(from, size);
     BookingState bookingState =
         Arrays.stream(BookingState.values())
             .filter(bState -> state.equalsIgnoreCase(bState.toString()))
@@ -98,6 +122,14 @@ public class BookingController {
                     new CustomException.BookingStateException(
                         String.format("Unknown state: %s", state)));
 
-    return bookingService.getAllBookingsForOwner(userId, bookingState, pageable);
+    List<BookingResponseDto> bookings =
+        cursor != null
+            ? bookingService.getAllBookingsForOwnerBefore(
+                userId, bookingState, decodeCursor(cursor, true), size)
+            : bookingService.getAllBookingsForOwner(userId, bookingState, getPageable(from, size));
+
+    setNextCursor(
+        response, bookings, size, booking -> encodeCursor(booking.getEnd(), booking.getId()));
+    return bookings;
   }
 }
@@ -0,0 +1,119 @@
+package ru.practicum.shareit.booking;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.IntervalTree.Interval;
+import ru.practicum.shareit.booking.bookingStatus.BookingStatus;
+import ru.practicum.shareit.utils.UtilsClass;
+
+/**
+ * Per-item index of the intervals occupied by WAITING and APPROVED bookings. Stored intervals may
+ * intersect each other (bookings loaded on warm-up or created on other nodes), so each item keeps
+ * an {@link IntervalTree} whose conflict check stays O(log n) regardless. All changes of one item
+ * go through {@link Map#compute}, which makes check-and-reserve atomic.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookingIntervalIndex {
+  private static final Set<BookingStatus> BLOCKING_STATUSES =
+      EnumSet.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+  private static final int WARM_UP_PAGE_SIZE = 1000;
+
+  private final BookingRepository bookingRepository;
+
+  private final Map<Long, IntervalTree> intervals = new ConcurrentHashMap<>();
+  private final Map<Long, Interval> intervalsByBooking = new ConcurrentHashMap<>();
+  private final AtomicLong reservationIds = new AtomicLong();
+
+  @PostConstruct
+  public void warmUp() {
+    LocalDateTime now = LocalDateTime.now();
+    Pageable pageable = PageRequest.of(0, WARM_UP_PAGE_SIZE, Sort.by("id"));
+    List<Booking> bookings;
+    do {
+      bookings = bookingRepository.findAllByStatusInAndEndAfter(BLOCKING_STATUSES, now, pageable);
+      bookings.forEach(this::update);
+      pageable = pageable.next();
+    } while (bookings.size() == WARM_UP_PAGE_SIZE);
+
+    log.info("Индекс интервалов бронирований построен, бронирований: {}", intervalsByBooking.size());
+  }
+
+  /**
+   * Reserves the interval for a booking being created unless it overlaps a stored one. The
+   * reservation is released when the current transaction completes; after a commit the booking
+   * itself is expected to be added through {@link #update}.
+   */
+  public boolean reserve(Long itemId, LocalDateTime start, LocalDateTime end) {
+    Interval reservation = new Interval(start, end, reservationIds.decrementAndGet());
+    AtomicBoolean reserved = new AtomicBoolean();
+    intervals.compute(
+        itemId,
+        (key, itemIntervals) -> {
+          if (itemIntervals != null && itemIntervals.overlaps(start, end)) {
+            return itemIntervals;
+          }
+          reserved.set(true);
+          return add(itemIntervals, reservation);
+        });
+    if (reserved.get()) {
+      UtilsClass.afterCompletion(
+          () ->
+              intervals.computeIfPresent(
+                  itemId, (key, itemIntervals) -> remove(itemIntervals, reservation)));
+    }
+    return reserved.get();
+  }
+
+  public void update(Booking booking) {
+    Long itemId = booking.getItem().getId();
+    boolean blocking = BLOCKING_STATUSES.contains(booking.getStatus());
+    Interval interval = new Interval(booking.getStart(), booking.getEnd(), booking.getId());
+    intervals.compute(
+        itemId,
+        (key, itemIntervals) -> {
+          Interval previous = intervalsByBooking.remove(booking.getId());
+          IntervalTree result =
+              previous != null && itemIntervals != null
+                  ? remove(itemIntervals, previous)
+                  : itemIntervals;
+          if (!blocking) {
+            return result;
+          }
+          intervalsByBooking.put(booking.getId(), interval);
+          return add(result, interval);
+        });
+  }
+
+  private IntervalTree add(IntervalTree itemIntervals, Interval interval) {
+    IntervalTree result = itemIntervals == null ? new IntervalTree() : itemIntervals;
+    result.add(interval);
+
+    LocalDateTime now = LocalDateTime.now();
+    Interval first;
+    while ((first = result.first()) != null && first.getEnd().isBefore(now)) {
+      result.remove(first);
+      intervalsByBooking.remove(first.getBookingId());
+    }
+    return result;
+  }
+
+  private static IntervalTree remove(IntervalTree itemIntervals, Interval interval) {
+    itemIntervals.remove(interval);
+    return itemIntervals.isEmpty() ? null : itemIntervals;
+  }
+}
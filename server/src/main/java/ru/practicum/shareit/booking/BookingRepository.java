@@ -4,13 +4,16 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
-import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.booking.bookingStatus.BookingStatus;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository
+    extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
   @Query("select b from Booking b join b.item i where i.owner.id = ?1 and b.id = ?2")
   Optional<Booking> findBookingByIdAndOwnerId(Long ownerId, Long bookingId);
 
@@ -21,13 +24,24 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
           + "and (i.owner.id = ?2 or b.booker.id = ?2)")
   Optional<Booking> findBookingByIdAndOwnerIdOrBookerId(Long bookingId, Long userId);
 
-  @Query("select b from Booking b join fetch b.item i where i.owner.id = ?1 order by b.start desc")
-  List<Booking> findAllByOwnerId(Long userId, Pageable pageable);
+  @Query(
+      "select b from Booking b "
+          + "where b.item.id = ?1 "
+          + "and b.status = ?2 "
+          + "and b.start < ?4 "
+          + "and b.end > ?3 "
+          + "order by b.start")
+  List<Booking> findAllByItemIdAndStatusInPeriod(
+      Long itemId, BookingStatus status, LocalDateTime from, LocalDateTime to);
 
-  @Query("select b from Booking b where b.booker.id = ?1 order by b.start desc")
-  List<Booking> findAllByBookerId(Long userId, Pageable pageable);
+  @Query(
+      "select b from Booking b join fetch b.booker "
+          + "where b.item.id in ?1 "
+          + "order by b.start, b.id")
+  List<Booking> findAllByItemIdIn(Collection<Long> itemIds);
 
-  List<Booking> findByBookerOrderByStartDesc(User booker, Pageable pageable);
+  List<Booking> findAllByStatusInAndEndAfter(
+      Collection<BookingStatus> statuses, LocalDateTime end, Pageable pageable);
 
   @Query(
       nativeQuery = true,
@@ -56,4 +70,30 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
               + "order by b.start_date "
               + "limit 1")
   Booking findNextBookingAfterNow(Long itemId, Long userId);
+
+  @Query(
+      nativeQuery = true,
+      value =
+          "select lb.id, lb.start_date, lb.end_date, lb.item_id, lb.booker_id, lb.status "
+              + "from (select b.*, "
+              + "             row_number() over (partition by b.item_id order by b.end_date desc) as rn "
+              + "      from bookings b "
+              + "      where b.item_id in ?1 "
+              + "      and b.status = 'APPROVED' "
+              + "      and b.start_date < now()) lb "
+              + "where lb.rn = 1")
+  List<Booking> findLastBookingsBeforeNow(Collection<Long> itemIds);
+
+  @Query(
+      nativeQuery = true,
+      value =
+          "select nb.id, nb.start_date, nb.end_date, nb.item_id, nb.booker_id, nb.status "
+              + "from (select b.*, "
+              + "             row_number() over (partition by b.item_id order by b.start_date) as rn "
+              + "      from bookings b "
+              + "      where b.item_id in ?1 "
+              + "      and b.status = 'APPROVED' "
+              + "      and b.start_date > now()) nb "
+              + "where nb.rn = 1")
+  List<Booking> findNextBookingsAfterNow(Collection<Long> itemIds);
 }
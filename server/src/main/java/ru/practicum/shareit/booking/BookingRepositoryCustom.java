@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.bookingState.BookingState;
+import ru.practicum.shareit.utils.PageCursor;
+
+public interface BookingRepositoryCustom {
+  List<Booking> findAllByBookerIdAndState(
+      Long bookerId, BookingState state, LocalDateTime now, PageCursor after, Pageable pageable);
+
+  List<Booking> findAllByOwnerIdAndState(
+      Long ownerId, BookingState state, LocalDateTime now, PageCursor after, Pageable pageable);
+}
@@ -0,0 +1,89 @@
+package ru.practicum.shareit.booking;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.bookingState.BookingState;
+import ru.practicum.shareit.booking.bookingStatus.BookingStatus;
+import ru.practicum.shareit.utils.PageCursor;
+
+public class BookingRepositoryImpl implements BookingRepositoryCustom {
+  @PersistenceContext private EntityManager entityManager;
+
+  @Override
+  public List<Booking> findAllByBookerIdAndState(
+      Long bookerId, BookingState state, LocalDateTime now, PageCursor after, Pageable pageable) {
+    return findAllByState("b.booker.id = :userId", bookerId, state, now, after, pageable);
+  }
+
+  @Override
+  public List<Booking> findAllByOwnerIdAndState(
+      Long ownerId, BookingState state, LocalDateTime now, PageCursor after, Pageable pageable) {
+    return findAllByState("i.owner.id = :userId", ownerId, state, now, after, pageable);
+  }
+
+  private List<Booking> findAllByState(
+      String userPredicate,
+      Long userId,
+      BookingState state,
+      LocalDateTime now,
+      PageCursor after,
+      Pageable pageable) {
+    StringBuilder jpql =
+        new StringBuilder("select b from Booking b join fetch b.item i join fetch b.booker ")
+            .append("where ")
+            .append(userPredicate)
+            .append(statePredicate(state));
+    if (after != null) {
+      jpql.append(" and (b.end < :afterEnd or (b.end = :afterEnd and b.id < :afterId))");
+    }
+    jpql.append(" order by b.end desc, b.id desc");
+
+    TypedQuery<Booking> query =
+        entityManager
+            .createQuery(jpql.toString(), Booking.class)
+            .setParameter("userId", userId);
+    switch (state) {
+      case CURRENT:
+      case PAST:
+      case FUTURE:
+        query.setParameter("now", now);
+        break;
+      case WAITING:
+        query.setParameter("status", BookingStatus.WAITING);
+        break;
+      case REJECTED:
+        query.setParameter("status", BookingStatus.REJECTED);
+        break;
+      default:
+        break;
+    }
+    if (after != null) {
+      query.setParameter("afterEnd", after.getTime()).setParameter("afterId", after.getId());
+    }
+    if (pageable.isPaged()) {
+      query.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize());
+    }
+
+    return query.getResultList();
+  }
+
+  private static String statePredicate(BookingState state) {
+    switch (state) {
+      case CURRENT:
+        return " and b.start < :now and b.end > :now";
+      case PAST:
+        return " and b.end < :now";
+      case FUTURE:
+        return " and b.start > :now";
+      case WAITING:
+      case REJECTED:
+        return " and b.status = :status";
+      default:
+        return "";
+    }
+  }
+}
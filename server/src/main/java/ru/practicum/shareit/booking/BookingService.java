@@ -1,12 +1,15 @@
 package ru.practicum.shareit.booking;
 
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,18 +18,27 @@ import ru.practicum.shareit.booking.bookingStatus.BookingStatus;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.exception.CustomException;
+import ru.practicum.shareit.item.ItemAvailabilityService;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
-import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserCache;
+import ru.practicum.shareit.utils.PageCursor;
+import ru.practicum.shareit.utils.UtilsClass;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class BookingService {
+  private static final String OVERLAP_CONSTRAINT = "bookings_approved_no_overlap";
+  private static final String EXCLUSION_VIOLATION_STATE = "23P01";
+  private static final String OVERLAP_MESSAGE = "Вещь уже забронирована на пересекающиеся даты";
+
   private final BookingRepository bookingRepository;
-  private final UserRepository userRepository;
+  private final UserCache userCache;
   private final ItemRepository itemRepository;
+  private final BookingIntervalIndex bookingIntervalIndex;
+  private final ItemAvailabilityService itemAvailabilityService;
 
   @Transactional
   public BookingResponseDto create(Long userId, BookingRequestDto bookingRequestDto) {
@@ -48,17 +60,25 @@ public class BookingService {
       throw new CustomException.ItemNotFoundException("Владелец не может бронировать свои вещи");
     }
 
+    if (!bookingIntervalIndex.reserve(
+        item.getId(), bookingRequestDto.getStart(), bookingRequestDto.getEnd())) {
+      throw new CustomException.ItemNotAvailableException("Вещь уже забронирована на эти даты");
+    }
+
     User user = getUser(userId);
 
     Booking booking = BookingMapper.toModel(bookingRequestDto, item, user, BookingStatus.WAITING);
+    Booking savedBooking = bookingRepository.saveAndFlush(booking);
+    UtilsClass.afterCommit(() -> bookingIntervalIndex.update(savedBooking));
 
-    return BookingMapper.toResponseDto(bookingRepository.saveAndFlush(booking));
+    return BookingMapper.toResponseDto(savedBooking);
   }
 
   private User getUser(Long userId) {
-    return userRepository
-        .findById(userId)
-        .orElseThrow(() -> new CustomException.UserNotFoundException("Пользователь не найден"));
+    if (!userCache.exists(userId)) {
+      throw new CustomException.UserNotFoundException("Пользователь не найден");
+    }
+    return userCache.getReference(userId);
   }
 
   @Transactional
@@ -72,9 +92,54 @@ public class BookingService {
       throw new CustomException.BookingStatusException("Статус уже APPROVED");
     }
 
+    if (approved) {
+      checkNoApprovedOverlap(booking);
+    }
+
     booking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
+    Booking savedBooking;
+    try {
+      savedBooking = bookingRepository.saveAndFlush(booking);
+    } catch (DataIntegrityViolationException e) {
+      if (!isOverlapViolation(e)) {
+        throw e;
+      }
+      log.error("Не удалось подтвердить бронирование id = {}: {}", bookingId, e.getMessage());
+      throw new CustomException.BookingStatusException(OVERLAP_MESSAGE);
+    }
+    UtilsClass.afterCommit(() -> bookingIntervalIndex.update(savedBooking));
+    Long itemId = savedBooking.getItem().getId();
+    UtilsClass.afterCommit(() -> itemAvailabilityService.evict(itemId));
 
-    return BookingMapper.toResponseDto(bookingRepository.saveAndFlush(booking));
+    return BookingMapper.toResponseDto(savedBooking);
+  }
+
+  private void checkNoApprovedOverlap(Booking booking) {
+    Long itemId = booking.getItem().getId();
+    itemRepository
+        .findByIdForUpdate(itemId)
+        .orElseThrow(() -> new CustomException.ItemNotFoundException("Вещь не найдена"));
+    List<Booking> approved =
+        bookingRepository.findAllByItemIdAndStatusInPeriod(
+            itemId, BookingStatus.APPROVED, booking.getStart(), booking.getEnd());
+    if (!approved.isEmpty()) {
+      throw new CustomException.BookingStatusException(OVERLAP_MESSAGE);
+    }
+  }
+
+  private static boolean isOverlapViolation(DataIntegrityViolationException e) {
+    for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+      if (cause instanceof ConstraintViolationException
+          && OVERLAP_CONSTRAINT.equalsIgnoreCase(
+              ((ConstraintViolationException) cause).getConstraintName())) {
+        return true;
+      }
+      if (cause instanceof SQLException
+          && EXCLUSION_VIOLATION_STATE.equals(((SQLException) cause).getSQLState())) {
+        return true;
+      }
+    }
+    return false;
   }
 
   @Transactional
@@ -86,47 +151,39 @@ public class BookingService {
     return BookingMapper.toResponseDto(bookingRepository.saveAndFlush(booking));
   }
 
-  private List<BookingResponseDto> getList(List<Booking> bookings, BookingState state) {
-    if (bookings.isEmpty()) {
-      throw new CustomException.BookingNotFoundException("Запросов не найдено");
-    }
-
-    List<BookingResponseDto> bookingResponseDtos = new ArrayList<>();
-
-    bookings.forEach(
-            booking -> {
-              LocalDateTime now = LocalDateTime.now();
-              LocalDateTime start = booking.getStart();
-              LocalDateTime end = booking.getEnd();
-              BookingStatus status = booking.getStatus();
-
-              if (state == BookingState.ALL
-                      || state == BookingState.CURRENT && now.isAfter(start) && now.isBefore(end)
-                      || state == BookingState.FUTURE && now.isBefore(start)
-                      || state == BookingState.PAST && now.isAfter(end)
-                      || state == BookingState.WAITING && status.equals(BookingStatus.WAITING)
-                      || state == BookingState.REJECTED && status.equals(BookingStatus.REJECTED)) {
-                bookingResponseDtos.add(BookingMapper.toResponseDto(booking));
-              }
-            });
-
-    Comparator<BookingResponseDto> comparator =
-            Comparator.comparing(BookingResponseDto::getEnd, Comparator.reverseOrder());
-    bookingResponseDtos.sort(comparator);
-
-    return bookingResponseDtos;
+  private List<BookingResponseDto> toResponseDtos(List<Booking> bookings) {
+    return bookings.stream().map(BookingMapper::toResponseDto).collect(Collectors.toList());
   }
 
-  public List<BookingResponseDto> getAllBookingsForBooker(Long userId, BookingState bookingState, Pageable pageable) {
-    User user = getUser(userId);
-    List<Booking> bookings = bookingRepository.findByBookerOrderByStartDesc(user, pageable);
+  public List<BookingResponseDto> getAllBookingsForBooker(
+      Long userId, BookingState bookingState, Pageable pageable) {
+    getUser(userId);
+    return toResponseDtos(
+        bookingRepository.findAllByBookerIdAndState(
+            userId, bookingState, LocalDateTime.now(), null, pageable));
+  }
 
-    return getList(bookings, bookingState);
+  public List<BookingResponseDto> getAllBookingsForBookerBefore(
+      Long userId, BookingState bookingState, PageCursor cursor, int size) {
+    getUser(userId);
+    return toResponseDtos(
+        bookingRepository.findAllByBookerIdAndState(
+            userId, bookingState, LocalDateTime.now(), cursor, PageRequest.ofSize(size)));
   }
 
-  public List<BookingResponseDto> getAllBookingsForOwner(Long userId, BookingState bookingState, Pageable pageable) {
-    List<Booking> bookings = bookingRepository.findAllByOwnerId(userId, pageable);
+  public List<BookingResponseDto> getAllBookingsForOwner(
+      Long userId, BookingState bookingState, Pageable pageable) {
+    getUser(userId);
+    return toResponseDtos(
+        bookingRepository.findAllByOwnerIdAndState(
+            userId, bookingState, LocalDateTime.now(), null, pageable));
+  }
 
-    return getList(bookings, bookingState);
+  public List<BookingResponseDto> getAllBookingsForOwnerBefore(
+      Long userId, BookingState bookingState, PageCursor cursor, int size) {
+    getUser(userId);
+    return toResponseDtos(
+        bookingRepository.findAllByOwnerIdAndState(
+            userId, bookingState, LocalDateTime.now(), cursor, PageRequest.ofSize(size)));
   }
 }
@@ -0,0 +1,167 @@
+package ru.practicum.shareit.booking;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import lombok.Value;
+
+/**
+ * AVL tree of intervals ordered by start, each node also keeping the latest end in its subtree.
+ * Stored intervals may overlap each other; an overlap check still descends a single path, so add,
+ * remove and check are O(log n). Not thread-safe: callers serialize access per tree.
+ */
+class IntervalTree {
+  private static final Comparator<Interval> BY_START =
+      Comparator.comparing(Interval::getStart).thenComparingLong(Interval::getBookingId);
+
+  private Node root;
+  private int size;
+
+  boolean isEmpty() {
+    return root == null;
+  }
+
+  int size() {
+    return size;
+  }
+
+  Interval first() {
+    Node node = root;
+    while (node != null && node.left != null) {
+      node = node.left;
+    }
+    return node == null ? null : node.interval;
+  }
+
+  /** Tells whether any stored interval intersects {@code [start, end)}. */
+  boolean overlaps(LocalDateTime start, LocalDateTime end) {
+    Node node = root;
+    while (node != null) {
+      if (node.interval.getStart().isBefore(end) && node.interval.getEnd().isAfter(start)) {
+        return true;
+      }
+      // Если слева есть интервал, заканчивающийся после start, и ни один из них не пересекается,
+      // то все они начинаются не раньше end, а правое поддерево начинается ещё позже.
+      node = node.left != null && node.left.maxEnd.isAfter(start) ? node.left : node.right;
+    }
+    return false;
+  }
+
+  void add(Interval interval) {
+    root = insert(root, interval);
+  }
+
+  void remove(Interval interval) {
+    root = delete(root, interval);
+  }
+
+  private Node insert(Node node, Interval interval) {
+    if (node == null) {
+      size++;
+      return new Node(interval);
+    }
+    int cmp = BY_START.compare(interval, node.interval);
+    if (cmp < 0) {
+      node.left = insert(node.left, interval);
+    } else if (cmp > 0) {
+      node.right = insert(node.right, interval);
+    } else {
+      node.interval = interval;
+    }
+    return balance(node);
+  }
+
+  private Node delete(Node node, Interval interval) {
+    if (node == null) {
+      return null;
+    }
+    int cmp = BY_START.compare(interval, node.interval);
+    if (cmp < 0) {
+      node.left = delete(node.left, interval);
+    } else if (cmp > 0) {
+      node.right = delete(node.right, interval);
+    } else if (node.left == null || node.right == null) {
+      size--;
+      return node.left == null ? node.right : node.left;
+    } else {
+      Node successor = node.right;
+      while (successor.left != null) {
+        successor = successor.left;
+      }
+      node.interval = successor.interval;
+      node.right = delete(node.right, successor.interval);
+    }
+    return balance(node);
+  }
+
+  private static Node balance(Node node) {
+    update(node);
+    int factor = height(node.left) - height(node.right);
+    if (factor > 1) {
+      if (height(node.left.left) < height(node.left.right)) {
+        node.left = rotateLeft(node.left);
+      }
+      return rotateRight(node);
+    }
+    if (factor < -1) {
+      if (height(node.right.right) < height(node.right.left)) {
+        node.right = rotateRight(node.right);
+      }
+      return rotateLeft(node);
+    }
+    return node;
+  }
+
+  private static Node rotateRight(Node node) {
+    Node pivot = node.left;
+    node.left = pivot.right;
+    pivot.right = node;
+    update(node);
+    update(pivot);
+    return pivot;
+  }
+
+  private static Node rotateLeft(Node node) {
+    Node pivot = node.right;
+    node.right = pivot.left;
+    pivot.left = node;
+    update(node);
+    update(pivot);
+    return pivot;
+  }
+
+  private static void update(Node node) {
+    node.height = 1 + Math.max(height(node.left), height(node.right));
+    LocalDateTime maxEnd = node.interval.getEnd();
+    if (node.left != null && node.left.maxEnd.isAfter(maxEnd)) {
+      maxEnd = node.left.maxEnd;
+    }
+    if (node.right != null && node.right.maxEnd.isAfter(maxEnd)) {
+      maxEnd = node.right.maxEnd;
+    }
+    node.maxEnd = maxEnd;
+  }
+
+  private static int height(Node node) {
+    return node == null ? 0 : node.height;
+  }
+
+  @Value
+  static class Interval {
+    LocalDateTime start;
+    LocalDateTime end;
+    long bookingId;
+  }
+
+  private static class Node {
+    private Interval interval;
+    private LocalDateTime maxEnd;
+    private int height = 1;
+    private Node left;
+    private Node right;
+
+    Node(Interval interval) {
+      this.interval = interval;
+      this.maxEnd = interval.getEnd();
+    }
+  }
+}
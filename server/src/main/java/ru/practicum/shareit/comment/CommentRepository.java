@@ -1,11 +1,16 @@
 package ru.practicum.shareit.comment;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findAllByItemId(Long itemId);
+
+    @Query("select c from Comment c join fetch c.author where c.item.id in ?1 order by c.id")
+    List<Comment> findAllByItemIdIn(Collection<Long> itemIds);
 }
@@ -13,6 +13,12 @@ public class CustomException {
     }
   }
 
+  public static class EmailConflictException extends UserException {
+    public EmailConflictException(String message) {
+      super(message);
+    }
+  }
+
   public static class ItemException extends RuntimeException {
     public ItemException(String message) {
       super(message);
@@ -31,6 +37,12 @@ public class CustomException {
     }
   }
 
+  public static class ItemPatchException extends ItemException {
+    public ItemPatchException(String message) {
+      super(message);
+    }
+  }
+
   public static class BookingNotFoundException extends RuntimeException {
     public BookingNotFoundException(String message) {
       super(message);
@@ -54,4 +66,16 @@ public class CustomException {
       super(message);
     }
   }
+
+  public static class CursorException extends RuntimeException {
+    public CursorException(String message) {
+      super(message);
+    }
+  }
+
+  public static class PeriodException extends RuntimeException {
+    public PeriodException(String message) {
+      super(message);
+    }
+  }
 }
@@ -15,7 +15,10 @@ public class ErrorHandler {
   @ExceptionHandler({
     ConstraintViolationException.class,
     CustomException.ItemNotAvailableException.class,
-    CustomException.BookingStatusException.class
+    CustomException.ItemPatchException.class,
+    CustomException.BookingStatusException.class,
+    CustomException.CursorException.class,
+    CustomException.PeriodException.class
   })
   @ResponseStatus(HttpStatus.BAD_REQUEST)
   @ResponseBody
@@ -37,6 +40,14 @@ public class ErrorHandler {
     return new ErrorResponse("Not found", e.getMessage());
   }
 
+  @ExceptionHandler({CustomException.EmailConflictException.class})
+  @ResponseStatus(HttpStatus.CONFLICT)
+  @ResponseBody
+  ErrorResponse getConflictExceptionResponse(RuntimeException e) {
+    log.error("Conflict: {}", e.getMessage());
+    return new ErrorResponse("Conflict", e.getMessage());
+  }
+
   @ExceptionHandler({Exception.class})
   @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
   @ResponseBody
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.export;
+
+import static ru.practicum.shareit.utils.UtilsClass.writeNdjsonLine;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping(path = "/export")
+@RequiredArgsConstructor
+@Slf4j
+public class ExportController {
+  private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+  private final ExportService exportService;
+  private final ObjectMapper objectMapper;
+
+  @GetMapping(path = "/owner", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportOwner(
+      @RequestHeader(USER_ID_HEADER) Long userId) {
+    log.info("GET /export/owner: userId={}", userId);
+    exportService.checkOwner(userId);
+
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .body(
+            out ->
+                exportService.exportOwner(
+                    userId, item -> writeNdjsonLine(objectMapper, out, item)));
+  }
+}
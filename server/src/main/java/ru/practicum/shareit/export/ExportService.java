@@ -0,0 +1,96 @@
+package ru.practicum.shareit.export;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.comment.CommentMapper;
+import ru.practicum.shareit.comment.CommentRepository;
+import ru.practicum.shareit.comment.dto.CommentResponseDto;
+import ru.practicum.shareit.exception.CustomException;
+import ru.practicum.shareit.export.dto.ItemExportDto;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserCache;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportService {
+  private static final int CHUNK_SIZE = 100;
+
+  private final UserCache userCache;
+  private final ItemRepository itemRepository;
+  private final BookingRepository bookingRepository;
+  private final CommentRepository commentRepository;
+  private final EntityManager entityManager;
+
+  public void checkOwner(Long userId) {
+    if (!userCache.exists(userId)) {
+      throw new CustomException.UserNotFoundException("Пользователь не найден");
+    }
+  }
+
+  @Transactional(readOnly = true)
+  public void exportOwner(Long userId, Consumer<ItemExportDto> consumer) {
+    log.info("Выгружаем вещи пользователя с id = {}", userId);
+    List<Item> chunk = new ArrayList<>(CHUNK_SIZE);
+    try (Stream<Item> items = itemRepository.streamAllByOwnerId(userId)) {
+      items.forEach(
+          item -> {
+            chunk.add(item);
+            if (chunk.size() == CHUNK_SIZE) {
+              exportChunk(chunk, consumer);
+            }
+          });
+    }
+    exportChunk(chunk, consumer);
+  }
+
+  private void exportChunk(List<Item> chunk, Consumer<ItemExportDto> consumer) {
+    if (chunk.isEmpty()) {
+      return;
+    }
+
+    List<Long> itemIds = chunk.stream().map(Item::getId).collect(Collectors.toList());
+    Map<Long, List<BookingResponseDto>> bookings =
+        bookingRepository.findAllByItemIdIn(itemIds).stream()
+            .collect(
+                Collectors.groupingBy(
+                    booking -> booking.getItem().getId(),
+                    Collectors.mapping(BookingMapper::toResponseDto, Collectors.toList())));
+    Map<Long, List<CommentResponseDto>> comments =
+        commentRepository.findAllByItemIdIn(itemIds).stream()
+            .collect(
+                Collectors.groupingBy(
+                    comment -> comment.getItem().getId(),
+                    Collectors.mapping(CommentMapper::toResponseDto, Collectors.toList())));
+
+    chunk.forEach(
+        item ->
+            consumer.accept(
+                ItemExportDto.builder()
+                    .id(item.getId())
+                    .name(item.getName())
+                    .description(item.getDescription())
+                    .available(item.getAvailable())
+                    .requestId(item.getRequest() != null ? item.getRequest().getId() : null)
+                    .bookings(bookings.getOrDefault(item.getId(), Collections.emptyList()))
+                    .comments(comments.getOrDefault(item.getId(), Collections.emptyList()))
+                    .build()));
+
+    chunk.clear();
+    entityManager.clear();
+  }
+}
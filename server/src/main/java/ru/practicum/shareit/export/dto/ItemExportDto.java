@@ -0,0 +1,21 @@
+package ru.practicum.shareit.export.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.comment.dto.CommentResponseDto;
+
+@Data
+@AllArgsConstructor
+@Builder
+public class ItemExportDto {
+  private Long id;
+  private String name;
+  private String description;
+  private Boolean available;
+  private Long requestId;
+  private List<BookingResponseDto> bookings;
+  private List<CommentResponseDto> comments;
+}
@@ -0,0 +1,111 @@
+package ru.practicum.shareit.item;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.bookingStatus.BookingStatus;
+import ru.practicum.shareit.exception.CustomException;
+import ru.practicum.shareit.item.dto.FreeSlotDto;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ItemAvailabilityService {
+  public static final String CACHE_NAME = "itemAvailability";
+  private static final long MAX_GENERATIONS = 100_000;
+  private static final Duration GENERATION_IDLE_TIMEOUT = Duration.ofHours(1);
+
+  private final ItemRepository itemRepository;
+  private final BookingRepository bookingRepository;
+  private final CacheManager cacheManager;
+
+  private final AtomicLong nextGeneration = new AtomicLong();
+  private final com.github.benmanes.caffeine.cache.Cache<Long, Long> generations =
+      Caffeine.newBuilder()
+          .maximumSize(MAX_GENERATIONS)
+          .expireAfterAccess(GENERATION_IDLE_TIMEOUT)
+          .build();
+
+  public List<FreeSlotDto> findFreeSlots(Long itemId, LocalDateTime from, LocalDateTime to) {
+    if (!from.isBefore(to)) {
+      throw new CustomException.PeriodException("Начало периода должно быть раньше окончания");
+    }
+
+    AvailabilityKey key =
+        new AvailabilityKey(
+            itemId, generations.get(itemId, id -> nextGeneration.incrementAndGet()), from, to);
+    Cache cache = cacheManager.getCache(CACHE_NAME);
+    if (cache == null) {
+      return computeFreeSlots(key);
+    }
+    try {
+      return cache.get(key, () -> computeFreeSlots(key));
+    } catch (Cache.ValueRetrievalException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Invalidates every cached window of the item by moving it to a new generation; entries of the
+   * old one are never read again and expire from the cache on their own. Generations come from one
+   * global sequence and are never reused, so the map may drop an item's entry at any time: the
+   * item just gets a fresh generation and misses the cache once.
+   */
+  public void evict(Long itemId) {
+    generations.put(itemId, nextGeneration.incrementAndGet());
+  }
+
+  private List<FreeSlotDto> computeFreeSlots(AvailabilityKey key) {
+    log.info(
+        "Найдем свободные интервалы вещи с id = {} с {} по {}",
+        key.getItemId(),
+        key.getFrom(),
+        key.getTo());
+    if (!itemRepository.existsById(key.getItemId())) {
+      throw new CustomException.ItemNotFoundException("Вещь не найдена");
+    }
+
+    List<Booking> bookings =
+        bookingRepository.findAllByItemIdAndStatusInPeriod(
+            key.getItemId(), BookingStatus.APPROVED, key.getFrom(), key.getTo());
+
+    List<FreeSlotDto> slots = new ArrayList<>();
+    LocalDateTime freeFrom = key.getFrom();
+    for (Booking booking : bookings) {
+      if (booking.getStart().isAfter(freeFrom)) {
+        slots.add(new FreeSlotDto(freeFrom, booking.getStart()));
+      }
+      if (booking.getEnd().isAfter(freeFrom)) {
+        freeFrom = booking.getEnd();
+      }
+    }
+    if (freeFrom.isBefore(key.getTo())) {
+      slots.add(new FreeSlotDto(freeFrom, key.getTo()));
+    }
+
+    return Collections.unmodifiableList(slots);
+  }
+
+  @Value
+  private static class AvailabilityKey {
+    Long itemId;
+    long generation;
+    LocalDateTime from;
+    LocalDateTime to;
+  }
+}
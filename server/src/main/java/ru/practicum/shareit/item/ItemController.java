@@ -1,13 +1,19 @@
 package ru.practicum.shareit.item;
 
+import static ru.practicum.shareit.utils.UtilsClass.decodeCursor;
+import static ru.practicum.shareit.utils.UtilsClass.encodeCursor;
 import static ru.practicum.shareit.utils.UtilsClass.getPageable;
+import static ru.practicum.shareit.utils.UtilsClass.setNextCursor;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import javax.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -19,6 +25,8 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.comment.dto.CommentRequestDto;
 import ru.practicum.shareit.comment.dto.CommentResponseDto;
+import ru.practicum.shareit.exception.CustomException;
+import ru.practicum.shareit.item.dto.FreeSlotDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemPlusResponseDto;
 
@@ -28,7 +36,9 @@ import ru.practicum.shareit.item.dto.ItemPlusResponseDto;
 @Slf4j
 public class ItemController {
   private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+  private static final String SORT_RELEVANCE = "relevance";
   private final ItemService itemService;
+  private final ItemAvailabilityService itemAvailabilityService;
 
   @PostMapping
   public ItemDto create(
@@ -37,6 +47,13 @@ public class ItemController {
     return itemService.create(userId, itemDto);
   }
 
+  @PostMapping("/batch")
+  public List<ItemDto> createAll(
+      @RequestHeader(USER_ID_HEADER) Long userId, @RequestBody List<ItemDto> itemDtos) {
+    log.info("POST /items/batch: userId={}, items={}", userId, itemDtos.size());
+    return itemService.createAll(userId, itemDtos);
+  }
+
   @PatchMapping("/{id}")
   public ItemDto updateFields(
       @RequestHeader(USER_ID_HEADER) Long userId,
@@ -53,31 +70,87 @@ public class ItemController {
     return itemService.findById(id, userId);
   }
 
+  @GetMapping("/{id}/availability")
+  public List<FreeSlotDto> findFreeSlots(
+      @PathVariable Long id,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+    log.info("GET /items/{id}/availability: id={}, from={}, to={}", id, from, to);
+    return itemAvailabilityService.findFreeSlots(id, from, to);
+  }
+
   @GetMapping
   public List<ItemPlusResponseDto> findAllByUserId(
       @RequestHeader(USER_ID_HEADER) Long userId,
       @RequestParam(name = "from", defaultValue = "0") Integer from,
-      @RequestParam(name = "size", defaultValue = "10") Integer size) {
-    log.info("GET /items: userId={}, from={}, size={}", userId, from, size);
-    Pageable pageable = getPageable(from, size);
-    return itemService.findAllByUserId(userId, pageable);
+      @RequestParam(name = "size", defaultValue = "10") Integer size,
+      @RequestParam(name = "cursor", required = false) String cursor,
+      HttpServletResponse response) {
+    log.info("GET /items: userId={}, from={}, size={}, cursor={}", userId, from, size, cursor);
+
+    List<ItemPlusResponseDto> items;
+    if (cursor != null) {
+      items = itemService.findAllByUserIdAfter(userId, decodeCursor(cursor, false).getId(), size);
+    } else {
+      Pageable pageable = getPageable(from, size);
+      items = itemService.findAllByUserId(userId, pageable);
+    }
+
+    setNextCursor(response, items, size, item -> encodeCursor(item.getId()));
+    return items;
   }
 
   @GetMapping("/search")
   public List<ItemDto> search(
       @RequestParam String text,
       @RequestParam(name = "from", defaultValue = "0") Integer from,
-      @RequestParam(name = "size", defaultValue = "10") Integer size) {
-    log.info("GET /items/search: test={}, from={}, size={}", text, from, size);
+      @RequestParam(name = "size", defaultValue = "10") Integer size,
+      @RequestParam(name = "cursor", required = false) String cursor,
+      @RequestParam(name = "sort", required = false) String sort,
+      HttpServletResponse response) {
+    log.info(
+        "GET /items/search: test={}, from={}, size={}, cursor={}, sort={}",
+        text,
+        from,
+        size,
+        cursor,
+        sort);
 
     if (text.isEmpty() || text.isBlank()) {
       log.error("Пустой запрос поиска");
       return Collections.emptyList();
     }
 
-    Pageable pageable = getPageable(from, size);
+    if (SORT_RELEVANCE.equalsIgnoreCase(sort)) {
+      if (cursor != null) {
+        throw new CustomException.CursorException(
+            "Курсор не поддерживается при сортировке по релевантности");
+      }
+      return itemService.searchByRelevance(text, from, size);
+    }
+
+    List<ItemDto> items;
+    if (cursor != null) {
+      items = itemService.searchAfter(text, decodeCursor(cursor, false).getId(), size);
+    } else {
+      Pageable pageable = getPageable(from, size);
+      items = itemService.search(text, pageable);
+    }
+
+    setNextCursor(response, items, size, item -> encodeCursor(item.getId()));
+    return items;
+  }
+
+  @GetMapping("/suggest")
+  public List<String> suggest(
+      @RequestParam String prefix,
+      @RequestParam(name = "size", defaultValue = "10") Integer size) {
+    log.info("GET /items/suggest: prefix={}, size={}", prefix, size);
 
-    return itemService.search(text, pageable);
+    if (prefix.isBlank()) {
+      return Collections.emptyList();
+    }
+    return itemService.suggest(prefix, size);
   }
 
   @PostMapping("/{itemId}/comment")
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.item;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import lombok.experimental.UtilityClass;
+import ru.practicum.shareit.exception.CustomException;
+import ru.practicum.shareit.item.model.Item;
+
+/**
+ * Applies a JSON merge patch to an {@link Item}. Only the properties listed in {@link #SETTERS} can
+ * be changed; other keys such as {@code id} or {@code owner} are ignored, as are null values. Each
+ * property converts the JSON value to its own type: text fields take any scalar, {@code available}
+ * takes a boolean or the strings "true"/"false"; anything else is rejected.
+ */
+@UtilityClass
+public class ItemPatcher {
+  private static final Map<String, BiConsumer<Item, Object>> SETTERS =
+      Map.of(
+          "name", setter("name", ItemPatcher::toText, Item::setName),
+          "description", setter("description", ItemPatcher::toText, Item::setDescription),
+          "available", setter("available", ItemPatcher::toBoolean, Item::setAvailable));
+
+  public static void apply(Item item, Map<String, Object> fields) {
+    fields.forEach(
+        (key, value) -> {
+          BiConsumer<Item, Object> setter = SETTERS.get(key);
+          if (setter != null && value != null) {
+            setter.accept(item, value);
+          }
+        });
+  }
+
+  private static <T> BiConsumer<Item, Object> setter(
+      String name, Function<Object, T> converter, BiConsumer<Item, T> target) {
+    return (item, value) -> {
+      T converted = converter.apply(value);
+      if (converted == null) {
+        throw new CustomException.ItemPatchException(
+            String.format("Некорректное значение поля %s: %s", name, value));
+      }
+      target.accept(item, converted);
+    };
+  }
+
+  private static String toText(Object value) {
+    if (value instanceof String || value instanceof Number || value instanceof Boolean) {
+      return value.toString();
+    }
+    return null;
+  }
+
+  private static Boolean toBoolean(Object value) {
+    if (value instanceof Boolean) {
+      return (Boolean) value;
+    }
+    if (value instanceof String) {
+      String text = ((String) value).trim().toLowerCase(Locale.ROOT);
+      if (text.equals("true") || text.equals("false")) {
+        return Boolean.valueOf(text);
+      }
+    }
+    return null;
+  }
+}
@@ -1,25 +1,117 @@
 package ru.practicum.shareit.item;
 
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.User;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select i from Item i where i.id = ?1")
+  Optional<Item> findByIdForUpdate(Long itemId);
+
   @Query(
       "SELECT i from Item i "
           + "WHERE (upper(i.name) like upper(concat('%', ?1, '%')) "
           + "OR upper(i.description) like upper(concat('%', ?1, '%'))) "
-          + "AND i.available = true")
+          + "AND i.available = true "
+          + "ORDER BY i.id")
   List<Item> search(String text, Pageable pageable);
 
+  @Query(
+      "SELECT i from Item i "
+          + "WHERE (upper(i.name) like upper(concat('%', ?1, '%')) "
+          + "OR upper(i.description) like upper(concat('%', ?1, '%'))) "
+          + "AND i.available = true "
+          + "AND i.id > ?2 "
+          + "ORDER BY i.id")
+  List<Item> searchAfter(String text, Long afterId, Pageable pageable);
+
+  @Query(
+      nativeQuery = true,
+      value =
+          "select i.* "
+              + "from items i "
+              + "where (i.name ilike concat('%', ?1, '%') "
+              + "or i.description ilike concat('%', ?1, '%')) "
+              + "and i.available = true "
+              + "order by i.id")
+  List<Item> searchByTrigramIndex(String text, Pageable pageable);
+
+  @Query(
+      nativeQuery = true,
+      value =
+          "select i.* "
+              + "from items i "
+              + "where (i.name ilike concat('%', ?1, '%') "
+              + "or i.description ilike concat('%', ?1, '%')) "
+              + "and i.available = true "
+              + "and i.id > ?2 "
+              + "order by i.id")
+  List<Item> searchByTrigramIndexAfter(String text, Long afterId, Pageable pageable);
+
+  /** Expects {@code \}, {@code %} and {@code _} in the prefix escaped with a backslash. */
+  @Query(
+      nativeQuery = true,
+      value =
+          "select min(i.name) "
+              + "from items i "
+              + "where upper(i.name) like concat(upper(?1), '%') escape '\\' "
+              + "and i.available = true "
+              + "group by upper(i.name) "
+              + "order by upper(i.name) "
+              + "limit ?2")
+  List<String> findNamesByPrefix(String prefix, int size);
+
+  /**
+   * Ids of available items matching the text, most relevant first: name matches come before
+   * description-only ones, then 3 points per occurrence in the name, 1 per occurrence in the
+   * description and {@code 0.5 * ln(1 + n)} for n approved bookings started after {@code since}.
+   * The text is expected trimmed and lower-cased; matching uses ilike, so the trigram indexes apply.
+   */
+  @Query(
+      nativeQuery = true,
+      value =
+          "select r.id "
+              + "from (select i.id, "
+              + "             case when i.name ilike concat('%', ?1, '%') "
+              + "                  then 1 else 0 end as name_match, "
+              + "             3.0 * (length(lower(i.name)) "
+              + "                    - length(replace(lower(i.name), ?1, ''))) "
+              + "                 / length(?1) "
+              + "             + 1.0 * (length(lower(i.description)) "
+              + "                      - length(replace(lower(i.description), ?1, ''))) "
+              + "                 / length(?1) "
+              + "             + 0.5 * ln(1 + (select count(*) "
+              + "                             from bookings b "
+              + "                             where b.item_id = i.id "
+              + "                             and b.status = 'APPROVED' "
+              + "                             and b.start_date > ?2)) as score "
+              + "      from items i "
+              + "      where (i.name ilike concat('%', ?1, '%') "
+              + "      or i.description ilike concat('%', ?1, '%')) "
+              + "      and i.available = true) r "
+              + "order by r.name_match desc, r.score desc, r.id "
+              + "limit ?3 offset ?4")
+  List<Long> findIdsByRelevance(String text, LocalDateTime since, int limit, long offset);
+
   @Query(
       nativeQuery = true,
       value =
@@ -36,5 +128,16 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
 
   List<Item> findByRequest(ItemRequest itemRequest);
 
-  List<Item> findByOwner(User owner, Pageable pageable);
+  List<Item> findByRequestIn(Collection<ItemRequest> itemRequests);
+
+  @QueryHints({
+    @QueryHint(name = HINT_FETCH_SIZE, value = "100"),
+    @QueryHint(name = HINT_READONLY, value = "true")
+  })
+  @Query("select i from Item i where i.owner.id = ?1 order by i.id")
+  Stream<Item> streamAllByOwnerId(Long ownerId);
+
+  List<Item> findByOwnerOrderById(User owner, Pageable pageable);
+
+  List<Item> findByOwnerAndIdGreaterThanOrderById(User owner, Long id, Pageable pageable);
 }
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.item;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+/**
+ * Caches search pages by the trimmed, lower-cased query plus offset and size. Any change to an
+ * item can move it in or out of arbitrary results, so writes clear the whole cache once they are
+ * committed. Keys carry a generation bumped on every clear, so a page computed before the clear
+ * and stored after it is never served.
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemSearchCache {
+  public static final String CACHE_NAME = "itemSearch";
+
+  private final CacheManager cacheManager;
+
+  private final AtomicLong generation = new AtomicLong();
+
+  public static String normalize(String text) {
+    return text.trim().toLowerCase(Locale.ROOT);
+  }
+
+  public List<ItemDto> get(String text, Pageable pageable, Function<String, List<ItemDto>> loader) {
+    String query = normalize(text);
+    long current = generation.get();
+    SearchKey key =
+        pageable.isPaged()
+            ? new SearchKey(current, query, pageable.getOffset(), pageable.getPageSize())
+            : new SearchKey(current, query, 0, -1);
+    return getCache().get(key, () -> List.copyOf(loader.apply(query)));
+  }
+
+  public void clear() {
+    generation.incrementAndGet();
+    getCache().clear();
+  }
+
+  private Cache getCache() {
+    return Objects.requireNonNull(cacheManager.getCache(CACHE_NAME));
+  }
+
+  @Value
+  private static class SearchKey {
+    long generation;
+    String text;
+    long offset;
+    int size;
+  }
+}
@@ -1,18 +1,22 @@
 package ru.practicum.shareit.item;
 
 
-import java.lang.reflect.Field;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.ReflectionUtils;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.comment.Comment;
@@ -24,26 +28,38 @@ import ru.practicum.shareit.exception.CustomException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemPlusResponseDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemNameSuggester;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
-import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserCache;
+import ru.practicum.shareit.utils.UtilsClass;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ItemService {
-  private final UserRepository userRepository;
+  private static final int BATCH_SIZE = 50;
+  private static final int POPULARITY_DAYS = 90;
+  private static final int MAX_SUGGEST_SIZE = 50;
+
+  private final UserCache userCache;
   private final ItemRepository itemRepository;
   private final BookingRepository bookingRepository;
   private final CommentRepository commentRepository;
   private final ItemRequestRepository itemRequestRepository;
+  private final ItemSearchEngine itemSearchEngine;
+  private final ItemNameSuggester itemNameSuggester;
+  private final ItemSearchCache itemSearchCache;
+  private final EntityManager entityManager;
 
   private User findUser(Long userId) {
     log.info("Найдем пользователя с id = {}", userId);
-    return userRepository
-        .findById(userId)
-        .orElseThrow(() -> new CustomException.UserNotFoundException("Пользователь не существует"));
+    if (!userCache.exists(userId)) {
+      throw new CustomException.UserNotFoundException("Пользователь не существует");
+    }
+    return userCache.getReference(userId);
   }
 
   private Item findItem(Long itemId) {
@@ -67,32 +83,65 @@ public class ItemService {
     }
 
     Item itemToSave = itemRepository.saveAndFlush(item);
+    UtilsClass.afterCommit(() -> itemSearchEngine.index(itemToSave));
+    UtilsClass.afterCommit(() -> itemNameSuggester.index(itemToSave));
+    UtilsClass.afterCommit(itemSearchCache::clear);
 
     return ItemMapper.toDto(itemToSave);
   }
 
+  @Transactional
+  public List<ItemDto> createAll(Long userId, List<ItemDto> itemDtos) {
+    log.info("Создадим {} вещей для пользователя с id = {}", itemDtos.size(), userId);
+    User user = findUser(userId);
+
+    Set<Long> requestIds =
+        itemDtos.stream()
+            .map(ItemDto::getRequestId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+    Map<Long, ItemRequest> requests =
+        itemRequestRepository.findAllById(requestIds).stream()
+            .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+
+    List<Item> items =
+        itemDtos.stream()
+            .map(
+                itemDto ->
+                    itemDto.getRequestId() != null
+                        ? ItemMapper.toModel(itemDto, user, requests.get(itemDto.getRequestId()))
+                        : ItemMapper.toModel(itemDto, user))
+            .collect(Collectors.toList());
+
+    for (int from = 0; from < items.size(); from += BATCH_SIZE) {
+      itemRepository.saveAll(items.subList(from, Math.min(from + BATCH_SIZE, items.size())));
+      itemRepository.flush();
+      entityManager.clear();
+    }
+    UtilsClass.afterCommit(() -> items.forEach(itemSearchEngine::index));
+    UtilsClass.afterCommit(() -> items.forEach(itemNameSuggester::index));
+    UtilsClass.afterCommit(itemSearchCache::clear);
+
+    return items.stream().map(ItemMapper::toDto).collect(Collectors.toList());
+  }
+
   @Transactional
   public ItemDto updateFields(Long userId, Long itemId, Map<String, Object> fields) {
     log.info("Обновим вещь с id = {} у пользователя с id = {}", userId, itemId);
     User user = findUser(userId);
     Item item = findItem(itemId);
 
-    if (!user.equals(item.getOwner())) {
+    if (!userId.equals(item.getOwner().getId())) {
       throw new CustomException.UserNotFoundException(
           String.format("Пользователь %s не являвется владельцем", user.getName()));
     }
 
-    fields.forEach(
-        (key, value) -> {
-          Field field = ReflectionUtils.findField(Item.class, key);
-          if (field != null) {
-            field.setAccessible(true);
-            ReflectionUtils.setField(
-                field, item, value instanceof Integer ? ((Integer) value).longValue() : value);
-          }
-        });
+    ItemPatcher.apply(item, fields);
 
     itemRepository.saveAndFlush(item);
+    UtilsClass.afterCommit(() -> itemSearchEngine.index(item));
+    UtilsClass.afterCommit(() -> itemNameSuggester.index(item));
+    UtilsClass.afterCommit(itemSearchCache::clear);
     return ItemMapper.toDto(item);
   }
 
@@ -106,33 +155,88 @@ public class ItemService {
 
   public List<ItemPlusResponseDto> findAllByUserId(Long userId, Pageable pageable) {
     log.info("Найдем все вещи пользователя с id = {}", userId);
-    List<ItemPlusResponseDto> itemsDto = new ArrayList<>();
     User user = findUser(userId);
 
-//    Pageable pageable = getPageable(from, size);
-    itemRepository
-        .findByOwner(user, pageable)
-        .forEach(
-            item -> {
-              Booking next = bookingRepository.findNextBookingAfterNow(item.getId(), userId);
-              Booking last = bookingRepository.findLastBookingBeforeNow(item.getId(), userId);
-              List<Comment> comments = commentRepository.findAllByItemId(item.getId());
-              itemsDto.add(ItemMapper.toResponsePlusDto(item, last, next, comments));
-            });
+    return toResponsePlusDtos(itemRepository.findByOwnerOrderById(user, pageable));
+  }
+
+  public List<ItemPlusResponseDto> findAllByUserIdAfter(Long userId, Long afterId, int size) {
+    log.info("Найдем вещи пользователя с id = {} после вещи с id = {}", userId, afterId);
+    User user = findUser(userId);
+
+    return toResponsePlusDtos(
+        itemRepository.findByOwnerAndIdGreaterThanOrderById(user, afterId, PageRequest.ofSize(size)));
+  }
+
+  private List<ItemPlusResponseDto> toResponsePlusDtos(List<Item> items) {
+    if (items.isEmpty()) {
+      return new ArrayList<>();
+    }
 
-    Comparator<ItemPlusResponseDto> comparator = Comparator.comparing(ItemPlusResponseDto::getId);
-    itemsDto.sort(comparator);
+    List<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toList());
+    Map<Long, Booking> lastBookings =
+        bookingRepository.findLastBookingsBeforeNow(itemIds).stream()
+            .collect(Collectors.toMap(booking -> booking.getItem().getId(), Function.identity()));
+    Map<Long, Booking> nextBookings =
+        bookingRepository.findNextBookingsAfterNow(itemIds).stream()
+            .collect(Collectors.toMap(booking -> booking.getItem().getId(), Function.identity()));
+    Map<Long, List<Comment>> comments =
+        commentRepository.findAllByItemIdIn(itemIds).stream()
+            .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
+
+    List<ItemPlusResponseDto> itemsDto =
+        items.stream()
+            .map(
+                item ->
+                    ItemMapper.toResponsePlusDto(
+                        item,
+                        lastBookings.get(item.getId()),
+                        nextBookings.get(item.getId()),
+                        comments.getOrDefault(item.getId(), Collections.emptyList())))
+            .collect(Collectors.toList());
 
     log.info("Всего найдено вещей: {}", itemsDto.size());
     return itemsDto;
   }
 
   public List<ItemDto> search(String text, Pageable pageable) {
-    log.info("Найдем все вещи по строке запроса: {}", text);
-    List<ItemDto> itemsDto =
-        itemRepository.search(text, pageable).stream()
-            .map(ItemMapper::toDto)
-            .collect(Collectors.toList());
+    return itemSearchCache.get(
+        text,
+        pageable,
+        query -> {
+          log.info("Найдем все вещи по строке запроса: {}", query);
+          return toDtos(itemSearchEngine.search(query, pageable));
+        });
+  }
+
+  public List<ItemDto> searchAfter(String text, Long afterId, int size) {
+    log.info("Найдем вещи по строке запроса: {} после вещи с id = {}", text, afterId);
+    return toDtos(itemSearchEngine.searchAfter(text, afterId, size));
+  }
+
+  public List<ItemDto> searchByRelevance(String text, int from, int size) {
+    log.info("Найдем вещи по строке запроса: {} в порядке релевантности", text);
+    LocalDateTime since = LocalDateTime.now().minusDays(POPULARITY_DAYS);
+    List<Long> ids =
+        itemRepository.findIdsByRelevance(ItemSearchCache.normalize(text), since, size, from);
+    if (ids.isEmpty()) {
+      return new ArrayList<>();
+    }
+
+    Map<Long, Item> items =
+        itemRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(Item::getId, Function.identity()));
+    return toDtos(
+        ids.stream().map(items::get).filter(Objects::nonNull).collect(Collectors.toList()));
+  }
+
+  public List<String> suggest(String prefix, int size) {
+    log.info("Подберем названия вещей по префиксу: {}", prefix);
+    return itemNameSuggester.suggest(prefix, Math.max(0, Math.min(size, MAX_SUGGEST_SIZE)));
+  }
+
+  private List<ItemDto> toDtos(List<Item> items) {
+    List<ItemDto> itemsDto = items.stream().map(ItemMapper::toDto).collect(Collectors.toList());
 
     log.info("Всего найдено вещей: {}", itemsDto.size());
     return itemsDto;
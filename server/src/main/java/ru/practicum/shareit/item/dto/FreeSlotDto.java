@@ -0,0 +1,12 @@
+package ru.practicum.shareit.item.dto;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class FreeSlotDto {
+  private LocalDateTime start;
+  private LocalDateTime end;
+}
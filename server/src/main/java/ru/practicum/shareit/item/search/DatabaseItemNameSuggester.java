@@ -0,0 +1,27 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+@Component
+@ConditionalOnExpression("'${shareit.search.engine:memory}' != 'memory'")
+@RequiredArgsConstructor
+public class DatabaseItemNameSuggester implements ItemNameSuggester {
+  private final ItemRepository itemRepository;
+
+  @Override
+  public void index(Item item) {}
+
+  @Override
+  public List<String> suggest(String prefix, int size) {
+    return itemRepository.findNamesByPrefix(escapeLike(prefix.stripLeading()), size);
+  }
+
+  private static String escapeLike(String text) {
+    return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+  }
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import javax.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+/**
+ * Distinct upper-cased names of available items kept sorted, each with the items carrying it, so a
+ * prefix lookup is a seek into the map followed by a scan over distinct names that stops at the
+ * first one without the prefix, however many items share a name.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "memory", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class InMemoryItemNameSuggester implements ItemNameSuggester {
+  private static final int WARM_UP_PAGE_SIZE = 1000;
+
+  private final ItemRepository itemRepository;
+
+  private final NavigableMap<String, Map<Long, String>> names = new ConcurrentSkipListMap<>();
+  private final Map<Long, String> keysByItem = new ConcurrentHashMap<>();
+
+  @PostConstruct
+  public void warmUp() {
+    Pageable pageable = PageRequest.of(0, WARM_UP_PAGE_SIZE, Sort.by("id"));
+    Page<Item> page;
+    do {
+      page = itemRepository.findAll(pageable);
+      page.forEach(this::index);
+      pageable = page.nextPageable();
+    } while (page.hasNext());
+
+    log.info("Индекс подсказок построен, названий: {}", names.size());
+  }
+
+  @Override
+  public synchronized void index(Item item) {
+    Long itemId = item.getId();
+    String previous = keysByItem.remove(itemId);
+    if (previous != null) {
+      names.computeIfPresent(
+          previous,
+          (key, items) -> {
+            items.remove(itemId);
+            return items.isEmpty() ? null : items;
+          });
+    }
+    if (!Boolean.TRUE.equals(item.getAvailable()) || item.getName() == null) {
+      return;
+    }
+
+    String key = normalize(item.getName());
+    keysByItem.put(itemId, key);
+    names.compute(
+        key,
+        (name, items) -> {
+          Map<Long, String> result = items == null ? new ConcurrentHashMap<>() : items;
+          result.put(itemId, item.getName());
+          return result;
+        });
+  }
+
+  @Override
+  public List<String> suggest(String prefix, int size) {
+    String key = normalize(prefix.stripLeading());
+    List<String> result = new ArrayList<>();
+    for (Map.Entry<String, Map<Long, String>> entry : names.tailMap(key, true).entrySet()) {
+      if (!entry.getKey().startsWith(key) || result.size() == size) {
+        break;
+      }
+      entry.getValue().values().stream().findFirst().ifPresent(result::add);
+    }
+    return result;
+  }
+
+  private static String normalize(String text) {
+    return text.toUpperCase(Locale.ROOT);
+  }
+}
@@ -0,0 +1,221 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+/**
+ * Inverted index over the 1-, 2- and 3-grams of item names and descriptions. A query of up to three
+ * characters is itself a gram, so its posting list is the exact answer; a longer query walks the
+ * shortest of its trigram lists in id order, keeps the ids present in all the others and verifies
+ * them with a substring check, so results match the {@code upper(...) like '%text%'} semantics of
+ * the database search.
+ *
+ * <p>A page costs O(m * k * log n): m ids of the shortest list scanned until the page is filled (at
+ * most that list's length, close to {@code from + size} for selective queries), k query trigrams,
+ * n the length of the other lists. Offsets are still skipped one match at a time, so deep offset
+ * pages cost O(from); cursor pages start at the cursor. Memory is about 8-16 bytes per distinct
+ * gram of each item (a 200-character description has several hundred) plus the upper-cased text
+ * kept for verification and for dropping stale grams on updates.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "memory", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class InMemoryItemSearchEngine implements ItemSearchEngine {
+  private static final int MAX_GRAM_LENGTH = 3;
+  private static final int WARM_UP_PAGE_SIZE = 1000;
+  private static final int LOCK_STRIPES = 64;
+  private static final int CHUNK_SIZE = 256;
+
+  private final ItemRepository itemRepository;
+
+  private final Map<Long, IndexedItem> items = new ConcurrentHashMap<>();
+  private final Map<String, PostingList> postings = new ConcurrentHashMap<>();
+  private final Object[] locks = newLocks();
+
+  @PostConstruct
+  public void warmUp() {
+    Pageable pageable = PageRequest.of(0, WARM_UP_PAGE_SIZE, Sort.by("id"));
+    Page<Item> page;
+    do {
+      page = itemRepository.findAll(pageable);
+      page.forEach(this::index);
+      pageable = page.nextPageable();
+    } while (page.hasNext());
+
+    log.info("Поисковый индекс построен, вещей: {}", items.size());
+  }
+
+  @Override
+  public List<Item> search(String text, Pageable pageable) {
+    String query = normalize(text);
+    long skip = pageable.isPaged() ? pageable.getOffset() : 0;
+    int limit = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+    return loadInOrder(findMatches(query, Long.MIN_VALUE, skip, limit));
+  }
+
+  @Override
+  public List<Item> searchAfter(String text, Long afterId, int size) {
+    String query = normalize(text);
+    return loadInOrder(findMatches(query, afterId, 0, size));
+  }
+
+  @Override
+  public void index(Item item) {
+    IndexedItem indexed =
+        new IndexedItem(
+            normalize(item.getName()),
+            normalize(item.getDescription()),
+            Boolean.TRUE.equals(item.getAvailable()));
+    Set<String> grams = indexed.grams();
+
+    // Новые граммы добавляются до замены вещи, а устаревшие удаляются после: читатель всегда
+    // находит вещь по граммам её текущей версии. Обновления одной вещи идут под одной блокировкой.
+    synchronized (lockFor(item.getId())) {
+      grams.forEach(gram -> postings.compute(gram, (key, ids) -> addId(ids, item.getId())));
+      IndexedItem previous = items.put(item.getId(), indexed);
+      if (previous != null) {
+        previous.grams().stream()
+            .filter(gram -> !grams.contains(gram))
+            .forEach(
+                gram ->
+                    postings.computeIfPresent(
+                        gram, (key, ids) -> ids.remove(item.getId()) ? null : ids));
+      }
+    }
+  }
+
+  private Object lockFor(Long itemId) {
+    return locks[Math.floorMod(itemId.hashCode(), LOCK_STRIPES)];
+  }
+
+  private static Object[] newLocks() {
+    Object[] locks = new Object[LOCK_STRIPES];
+    Arrays.setAll(locks, i -> new Object());
+    return locks;
+  }
+
+  private static PostingList addId(PostingList ids, long id) {
+    PostingList result = ids == null ? new PostingList() : ids;
+    result.add(id);
+    return result;
+  }
+
+  private List<Long> findMatches(String query, long afterId, long skip, int limit) {
+    List<PostingList> lists = postingsOf(query);
+    List<Long> ids = new ArrayList<>();
+    if (lists.isEmpty()) {
+      return ids;
+    }
+
+    PostingList shortest = lists.get(0);
+    List<PostingList> others = lists.subList(1, lists.size());
+    long[] chunk = new long[CHUNK_SIZE];
+    long cursor = afterId;
+    long toSkip = skip;
+    int count;
+    while ((count = shortest.copyAfter(cursor, chunk)) > 0) {
+      cursor = chunk[count - 1];
+      for (PostingList other : others) {
+        count = other.retainAll(chunk, count);
+      }
+      for (int i = 0; i < count; i++) {
+        IndexedItem item = items.get(chunk[i]);
+        if (item == null || !item.matches(query)) {
+          continue;
+        }
+        if (toSkip > 0) {
+          toSkip--;
+          continue;
+        }
+        ids.add(chunk[i]);
+        if (ids.size() == limit) {
+          return ids;
+        }
+      }
+    }
+    return ids;
+  }
+
+  /** Posting lists of the query's grams, shortest first; empty if any gram is not indexed. */
+  private List<PostingList> postingsOf(String query) {
+    List<PostingList> lists = new ArrayList<>();
+    for (String gram : grams(query)) {
+      PostingList ids = postings.get(gram);
+      if (ids == null) {
+        return List.of();
+      }
+      lists.add(ids);
+    }
+    lists.sort(Comparator.comparingInt(PostingList::size));
+    return lists;
+  }
+
+  private List<Item> loadInOrder(List<Long> ids) {
+    if (ids.isEmpty()) {
+      return new ArrayList<>();
+    }
+    Map<Long, Item> loaded =
+        itemRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(Item::getId, Function.identity()));
+    return ids.stream().map(loaded::get).filter(Objects::nonNull).collect(Collectors.toList());
+  }
+
+  private static String normalize(String text) {
+    return text == null ? "" : text.toUpperCase(Locale.ROOT);
+  }
+
+  private static Set<String> grams(String query) {
+    Set<String> grams = new HashSet<>();
+    int length = Math.min(MAX_GRAM_LENGTH, query.length());
+    for (int i = 0; i + length <= query.length() && length > 0; i++) {
+      grams.add(query.substring(i, i + length));
+    }
+    return grams;
+  }
+
+  @Value
+  private static class IndexedItem {
+    String name;
+    String description;
+    boolean available;
+
+    boolean matches(String query) {
+      return available && (name.contains(query) || description.contains(query));
+    }
+
+    Set<String> grams() {
+      Set<String> grams = new HashSet<>();
+      for (String text : List.of(name, description)) {
+        for (int length = 1; length <= MAX_GRAM_LENGTH; length++) {
+          for (int i = 0; i + length <= text.length(); i++) {
+            grams.add(text.substring(i, i + length));
+          }
+        }
+      }
+      return grams;
+    }
+  }
+}
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.List;
+import ru.practicum.shareit.item.model.Item;
+
+public interface ItemNameSuggester {
+  void index(Item item);
+
+  List<String> suggest(String prefix, int size);
+}
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Sorted item ids of one n-gram kept in a primitive array: 8 bytes per entry plus up to the same
+ * again of spare capacity. Ids mostly arrive in increasing order, so adding one is usually an
+ * append; lookups are binary searches.
+ */
+class PostingList {
+  private static final int INITIAL_CAPACITY = 4;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private long[] ids = new long[INITIAL_CAPACITY];
+  private int size;
+
+  void add(long id) {
+    lock.writeLock().lock();
+    try {
+      int position = Arrays.binarySearch(ids, 0, size, id);
+      if (position >= 0) {
+        return;
+      }
+      position = -position - 1;
+      if (size == ids.length) {
+        ids = Arrays.copyOf(ids, size * 2);
+      }
+      System.arraycopy(ids, position, ids, position + 1, size - position);
+      ids[position] = id;
+      size++;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** Returns {@code true} if the list is empty afterwards. */
+  boolean remove(long id) {
+    lock.writeLock().lock();
+    try {
+      int position = Arrays.binarySearch(ids, 0, size, id);
+      if (position >= 0) {
+        System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+        size--;
+        if (ids.length > INITIAL_CAPACITY && size < ids.length / 4) {
+          ids = Arrays.copyOf(ids, ids.length / 2);
+        }
+      }
+      return size == 0;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  int size() {
+    lock.readLock().lock();
+    try {
+      return size;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Copies the ids greater than {@code afterId} into {@code buffer}, returns how many. */
+  int copyAfter(long afterId, long[] buffer) {
+    lock.readLock().lock();
+    try {
+      int from = Arrays.binarySearch(ids, 0, size, afterId);
+      from = from >= 0 ? from + 1 : -from - 1;
+      int count = Math.min(buffer.length, size - from);
+      System.arraycopy(ids, from, buffer, 0, count);
+      return count;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Keeps only the first {@code count} ids of the sorted {@code buffer} present in this list. */
+  int retainAll(long[] buffer, int count) {
+    lock.readLock().lock();
+    try {
+      int kept = 0;
+      int from = 0;
+      for (int i = 0; i < count; i++) {
+        int position = Arrays.binarySearch(ids, from, size, buffer[i]);
+        if (position >= 0) {
+          buffer[kept++] = buffer[i];
+          from = position + 1;
+        } else {
+          from = -position - 1;
+        }
+      }
+      return kept;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+}
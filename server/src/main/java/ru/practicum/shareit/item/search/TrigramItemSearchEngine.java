@@ -0,0 +1,30 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "trigram")
+@RequiredArgsConstructor
+public class TrigramItemSearchEngine implements ItemSearchEngine {
+  private final ItemRepository itemRepository;
+
+  @Override
+  public List<Item> search(String text, Pageable pageable) {
+    return itemRepository.searchByTrigramIndex(text, pageable);
+  }
+
+  @Override
+  public List<Item> searchAfter(String text, Long afterId, int size) {
+    return itemRepository.searchByTrigramIndexAfter(text, afterId, PageRequest.ofSize(size));
+  }
+
+  @Override
+  public void index(Item item) {}
+}
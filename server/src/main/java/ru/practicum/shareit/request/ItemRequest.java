@@ -8,6 +8,7 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -27,7 +28,8 @@ import ru.practicum.shareit.user.User;
 @Table(name = "requests")
 public class ItemRequest {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "requests_seq")
+  @SequenceGenerator(name = "requests_seq", sequenceName = "requests_seq", allocationSize = 50)
   private long id;
 
   private String description;
@@ -1,8 +1,12 @@
 package ru.practicum.shareit.request;
 
+import static ru.practicum.shareit.utils.UtilsClass.decodeCursor;
+import static ru.practicum.shareit.utils.UtilsClass.encodeCursor;
 import static ru.practicum.shareit.utils.UtilsClass.getPageable;
+import static ru.practicum.shareit.utils.UtilsClass.setNextCursor;
 
 import java.util.List;
+import javax.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
@@ -24,7 +28,7 @@ import ru.practicum.shareit.request.dto.ItemRequestDto;
 @RequestMapping(path = "/requests")
 public class ItemRequestController {
   private static final String USER_ID_HEADER = "X-Sharer-User-Id";
-  private final Sort newIsFirst = Sort.by("created");
+  private final Sort newIsFirst = Sort.by("created", "id");
   private final ItemRequestService itemRequestService;
 
   @PostMapping
@@ -45,12 +49,25 @@ public class ItemRequestController {
   public List<ItemRequestDto> findAll(
       @RequestHeader(USER_ID_HEADER) Long userId,
       @RequestParam(name = "from", defaultValue = "0") Integer from,
-      @RequestParam(name = "size", defaultValue = "10") Integer size) {
-    log.info("GET /requests/all: from={}, size={}", from, size);
+      @RequestParam(name = "size", defaultValue = "10") Integer size,
+      @RequestParam(name = "cursor", required = false) String cursor,
+      HttpServletResponse response) {
+    log.info("GET /requests/all: from={}, size={}, cursor={}", from, size, cursor);
 
-    Pageable pageable = getPageable(from, size, newIsFirst);
+    List<ItemRequestDto> requests;
+    if (cursor != null) {
+      requests = itemRequestService.findAllAfter(userId, decodeCursor(cursor, true), size);
+    } else {
+      Pageable pageable = getPageable(from, size, newIsFirst);
+      requests = itemRequestService.findAll(userId, pageable);
+    }
 
-    return itemRequestService.findAll(userId, pageable);
+    setNextCursor(
+        response,
+        requests,
+        size,
+        request -> encodeCursor(request.getCreated(), request.getId()));
+    return requests;
   }
 
   @GetMapping("/{requestId}")
@@ -1,8 +1,10 @@
 package ru.practicum.shareit.request;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.user.User;
 
@@ -12,5 +14,13 @@ public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long>
 
   List<ItemRequest> findAllByRequesterNot(User requester, Pageable pageable);
 
+  @Query(
+      "select r from ItemRequest r "
+          + "where r.requester <> ?1 "
+          + "and (r.created > ?2 or (r.created = ?2 and r.id > ?3)) "
+          + "order by r.created, r.id")
+  List<ItemRequest> findAllByRequesterNotAfter(
+      User requester, LocalDateTime created, Long id, Pageable pageable);
+
   List<ItemRequest> findAllByRequesterNot(User requester);
 }
@@ -3,9 +3,12 @@ package ru.practicum.shareit.request;
 import static ru.practicum.shareit.request.ItemRequestMapper.toDto;
 import static ru.practicum.shareit.request.ItemRequestMapper.toModel;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
@@ -16,24 +19,24 @@ import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.user.User;
-import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserCache;
+import ru.practicum.shareit.utils.PageCursor;
 
 @Service
 @RequiredArgsConstructor
 public class ItemRequestService {
-  private final UserRepository userRepository;
+  private final UserCache userCache;
   private final ItemRepository itemRepository;
   private final ItemRequestRepository itemRequestRepository;
 
   private final Sort newIsFirst = Sort.by("created");
 
   private User getUser(Long userId) {
-    return userRepository
-        .findById(userId)
-        .orElseThrow(
-            () ->
-                new CustomException.UserNotFoundException(
-                    String.format("Пользователь с id = %s не найден", userId)));
+    if (!userCache.exists(userId)) {
+      throw new CustomException.UserNotFoundException(
+          String.format("Пользователь с id = %s не найден", userId));
+    }
+    return userCache.getReference(userId);
   }
 
   @Transactional
@@ -48,9 +51,7 @@ public class ItemRequestService {
   public List<ItemRequestDto> findAllByOwnerRequestId(Long userId) {
     User user = getUser(userId);
 
-    return itemRequestRepository.findByRequester(user).stream()
-        .map(request -> toDto(request, getItems(request)))
-        .collect(Collectors.toList());
+    return toDtos(itemRequestRepository.findByRequester(user));
   }
 
   public List<ItemRequestDto> findAll(Long userId, Pageable pageable) {
@@ -58,9 +59,15 @@ public class ItemRequestService {
 
 //    Pageable pageable = getPageable(from, size, newIsFirst);
 
-    return itemRequestRepository.findAllByRequesterNot(user, pageable).stream()
-        .map(request -> toDto(request, getItems(request)))
-        .collect(Collectors.toList());
+    return toDtos(itemRequestRepository.findAllByRequesterNot(user, pageable));
+  }
+
+  public List<ItemRequestDto> findAllAfter(Long userId, PageCursor cursor, int size) {
+    User user = getUser(userId);
+
+    return toDtos(
+        itemRequestRepository.findAllByRequesterNotAfter(
+            user, cursor.getTime(), cursor.getId(), PageRequest.ofSize(size)));
   }
 
   public ItemRequestDto findByRequestId(Long userId, Long requestId) {
@@ -80,6 +87,23 @@ public class ItemRequestService {
     return itemRequestDto;
   }
 
+  private List<ItemRequestDto> toDtos(List<ItemRequest> requests) {
+    if (requests.isEmpty()) {
+      return new ArrayList<>();
+    }
+
+    Map<Long, List<ItemDto>> items =
+        itemRepository.findByRequestIn(requests).stream()
+            .collect(
+                Collectors.groupingBy(
+                    item -> item.getRequest().getId(),
+                    Collectors.mapping(ItemMapper::toDto, Collectors.toList())));
+
+    return requests.stream()
+        .map(request -> toDto(request, items.getOrDefault(request.getId(), new ArrayList<>())))
+        .collect(Collectors.toList());
+  }
+
   private List<ItemDto> getItems(ItemRequest request) {
     return itemRepository.findByRequest(request).stream()
         .map(ItemMapper::toDto)
@@ -0,0 +1,118 @@
+package ru.practicum.shareit.user;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bloom filter over the upper-cased emails of all users. A negative answer is definitive, so the
+ * common "email is free" case needs no query; a positive answer must be confirmed by the database.
+ * Emails of removed or renamed users stay in the filter and only cost an extra confirmation. The
+ * size and the number of hashes are derived from the expected number of emails and the target
+ * false positive rate.
+ */
+@Component
+@EnableConfigurationProperties(EmailFilterProperties.class)
+@Slf4j
+public class EmailBloomFilter {
+  private static final int WARM_UP_PAGE_SIZE = 1000;
+
+  private final UserRepository userRepository;
+  private final EmailFilterProperties properties;
+
+  private final long bitCount;
+  private final int hashCount;
+  private final AtomicLongArray bits;
+
+  public EmailBloomFilter(UserRepository userRepository, EmailFilterProperties properties) {
+    this.userRepository = userRepository;
+    this.properties = properties;
+
+    long expected = Math.max(1, properties.getExpectedInsertions());
+    double rate = properties.getFalsePositiveRate();
+    if (rate <= 0 || rate >= 1) {
+      throw new IllegalArgumentException(
+          "Доля ложных срабатываний фильтра email должна быть в интервале (0, 1)");
+    }
+    long words =
+        (long) Math.ceil(-expected * Math.log(rate) / (Math.log(2) * Math.log(2)) / Long.SIZE);
+    this.bits = new AtomicLongArray(Math.toIntExact(Math.max(1, words)));
+    this.bitCount = (long) bits.length() * Long.SIZE;
+    this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expected * Math.log(2)));
+  }
+
+  @PostConstruct
+  public void warmUp() {
+    Pageable pageable = PageRequest.of(0, WARM_UP_PAGE_SIZE, Sort.by("id"));
+    List<String> emails;
+    int count = 0;
+    do {
+      emails = userRepository.findEmails(pageable);
+      emails.forEach(this::add);
+      count += emails.size();
+      pageable = pageable.next();
+    } while (emails.size() == WARM_UP_PAGE_SIZE);
+
+    log.info(
+        "Фильтр email построен, адресов: {}, бит: {}, хешей: {}", count, bitCount, hashCount);
+    if (count > properties.getExpectedInsertions()) {
+      log.warn(
+          "Адресов больше, чем рассчитан фильтр email ({}): увеличьте expected-insertions",
+          properties.getExpectedInsertions());
+    }
+  }
+
+  public void add(String email) {
+    long[] hashes = hashes(email);
+    for (int i = 0; i < hashCount; i++) {
+      long bit = bitIndex(hashes, i);
+      long mask = 1L << bit;
+      int word = (int) (bit >>> 6);
+      long current;
+      do {
+        current = bits.get(word);
+      } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+    }
+  }
+
+  public boolean mightContain(String email) {
+    long[] hashes = hashes(email);
+    for (int i = 0; i < hashCount; i++) {
+      long bit = bitIndex(hashes, i);
+      if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private long bitIndex(long[] hashes, int i) {
+    return Math.floorMod(hashes[0] + i * hashes[1], bitCount);
+  }
+
+  private static long[] hashes(String email) {
+    byte[] bytes = email.toUpperCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8);
+    long h1 = 0xcbf29ce484222325L;
+    long h2 = 0x9e3779b97f4a7c15L;
+    for (byte b : bytes) {
+      h1 = (h1 ^ (b & 0xff)) * 0x100000001b3L;
+      h2 = Long.rotateLeft(h2 ^ (b & 0xff), 27) * 0xc2b2ae3d27d4eb4fL;
+    }
+    return new long[] {mix(h1), mix(h2) | 1};
+  }
+
+  private static long mix(long h) {
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    return h;
+  }
+}
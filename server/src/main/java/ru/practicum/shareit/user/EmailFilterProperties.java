@@ -0,0 +1,11 @@
+package ru.practicum.shareit.user;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "shareit.users.email-filter")
+public class EmailFilterProperties {
+  private long expectedInsertions = 1_000_000;
+  private double falsePositiveRate = 0.01;
+}
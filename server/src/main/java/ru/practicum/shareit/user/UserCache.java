@@ -0,0 +1,48 @@
+package ru.practicum.shareit.user;
+
+import java.util.Objects;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers which user ids exist, so the per-request user checks of the services cost no query.
+ * Only positive answers are cached; entries are dropped when a user is updated or removed.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserCache {
+  public static final String CACHE_NAME = "users";
+
+  private final UserRepository userRepository;
+  private final CacheManager cacheManager;
+
+  public boolean exists(Long userId) {
+    if (userId == null) {
+      return false;
+    }
+    Cache cache = getCache();
+    if (cache.get(userId) != null) {
+      return true;
+    }
+
+    boolean exists = userRepository.existsById(userId);
+    if (exists) {
+      cache.put(userId, Boolean.TRUE);
+    }
+    return exists;
+  }
+
+  public User getReference(Long userId) {
+    return userRepository.getReferenceById(userId);
+  }
+
+  public void evict(Long userId) {
+    getCache().evict(userId);
+  }
+
+  private Cache getCache() {
+    return Objects.requireNonNull(cacheManager.getCache(CACHE_NAME));
+  }
+}
@@ -1,8 +1,15 @@
 package ru.practicum.shareit.user;
 
+import static ru.practicum.shareit.utils.UtilsClass.getPageable;
+import static ru.practicum.shareit.utils.UtilsClass.writeNdjsonLine;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -10,7 +17,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.user.dto.UserDto;
 
 @RequiredArgsConstructor
@@ -18,7 +27,9 @@ import ru.practicum.shareit.user.dto.UserDto;
 @RequestMapping(path = "/users")
 @Slf4j
 public class UserController {
+  private final Sort byId = Sort.by("id");
   private final UserService userService;
+  private final ObjectMapper objectMapper;
 
   @PostMapping
   public UserDto create(@RequestBody UserDto userDto) {
@@ -47,8 +58,18 @@ public class UserController {
   }
 
   @GetMapping
-  public List<UserDto> findAll() {
-    log.info("GET /users");
-    return userService.findAll();
+  public List<UserDto> findAll(
+      @RequestParam(name = "from", defaultValue = "0") Integer from,
+      @RequestParam(name = "size", required = false) Integer size) {
+    log.info("GET /users: from={}, size={}", from, size);
+    return userService.findAll(getPageable(from, size, byId));
+  }
+
+  @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> streamAll() {
+    log.info("GET /users: ndjson");
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .body(out -> userService.streamAll(user -> writeNdjsonLine(objectMapper, out, user)));
   }
 }
@@ -1,5 +1,28 @@
 package ru.practicum.shareit.user;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+import java.util.List;
+import java.util.stream.Stream;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+public interface UserRepository extends JpaRepository<User, Long> {
+  boolean existsByEmailIgnoreCaseAndIdNot(String email, Long id);
+
+  @Query("select u.email from User u")
+  List<String> findEmails(Pageable pageable);
 
-public interface UserRepository extends JpaRepository<User, Long> {}
+  @QueryHints({
+    @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+    @QueryHint(name = HINT_READONLY, value = "true"),
+    @QueryHint(name = HINT_CACHEABLE, value = "false")
+  })
+  @Query("select u from User u order by u.id")
+  Stream<User> streamAll();
+}
@@ -1,33 +1,65 @@
 package ru.practicum.shareit.user;
 
 import java.util.List;
-import java.util.Set;
+import java.util.Locale;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.CustomException;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.utils.UtilsClass;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class UserService {
+  private static final String EMAIL_CONSTRAINT = "UQ_USER_EMAIL";
+  private static final String EMAIL_TAKEN_MESSAGE = "Такой email уже занят";
+
   private final UserRepository userRepository;
+  private final UserCache userCache;
+  private final EmailBloomFilter emailBloomFilter;
+  private final EntityManager entityManager;
 
-  private void checkEmail(String newEmail) {
+  private void checkEmail(String newEmail, Long id) {
     log.info("Проверяем строку email: {}", newEmail);
-    Set<String> emails =
-        userRepository.findAll().stream().map(User::getEmail).collect(Collectors.toSet());
+    if (!emailBloomFilter.mightContain(newEmail)) {
+      return;
+    }
+
+    if (userRepository.existsByEmailIgnoreCaseAndIdNot(newEmail, id)) {
+      throw new CustomException.EmailConflictException(EMAIL_TAKEN_MESSAGE);
+    }
+  }
 
-    int oldEmailsSize = emails.size();
-    emails.add(newEmail);
-    int newEmailsSize = emails.size();
+  private User save(User user) {
+    try {
+      return userRepository.saveAndFlush(user);
+    } catch (DataIntegrityViolationException e) {
+      if (!isEmailViolation(e)) {
+        throw e;
+      }
+      log.error("Email {} уже занят другим пользователем", user.getEmail());
+      throw new CustomException.EmailConflictException(EMAIL_TAKEN_MESSAGE);
+    }
+  }
 
-    if (oldEmailsSize == newEmailsSize) {
-      throw new CustomException.UserException("Такой email уже занят");
+  private static boolean isEmailViolation(DataIntegrityViolationException e) {
+    for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+      if (cause instanceof ConstraintViolationException) {
+        String constraint = ((ConstraintViolationException) cause).getConstraintName();
+        return constraint != null && constraint.toUpperCase(Locale.ROOT).contains(EMAIL_CONSTRAINT);
+      }
     }
+    return false;
   }
 
   @Transactional
@@ -35,7 +67,8 @@ public class UserService {
     log.info("Создаем нового пользователяя {}", userDto);
 //    checkEmail(userDto.getEmail());
 
-    User user = userRepository.saveAndFlush(UserMapper.toModel(userDto));
+    User user = save(UserMapper.toModel(userDto));
+    emailBloomFilter.add(user.getEmail());
 
     return UserMapper.toDto(user);
   }
@@ -54,12 +87,14 @@ public class UserService {
 
     if (email != null) {
       if (!email.equals(user.getEmail())) {
-        checkEmail(email);
+        checkEmail(email, id);
       }
       user.setEmail(email);
     }
 
-    userRepository.saveAndFlush(user);
+    save(user);
+    emailBloomFilter.add(user.getEmail());
+    userCache.evict(id);
 
     return UserMapper.toDto(user);
   }
@@ -72,10 +107,26 @@ public class UserService {
   public void removeById(Long id) {
     log.info("Удаляем пользователя с id = {}", id);
     userRepository.deleteById(id);
+    // до коммита параллельная проверка ещё видит пользователя и может снова закешировать его
+    UtilsClass.afterCommit(() -> userCache.evict(id));
   }
 
-  public List<UserDto> findAll() {
-    return userRepository.findAll().stream().map(UserMapper::toDto).collect(Collectors.toList());
+  public List<UserDto> findAll(Pageable pageable) {
+    return userRepository.findAll(pageable).stream()
+        .map(UserMapper::toDto)
+        .collect(Collectors.toList());
+  }
+
+  @Transactional(readOnly = true)
+  public void streamAll(Consumer<UserDto> consumer) {
+    log.info("Выгружаем всех пользователей потоком");
+    try (Stream<User> users = userRepository.streamAll()) {
+      users.forEach(
+          user -> {
+            consumer.accept(UserMapper.toDto(user));
+            entityManager.detach(user);
+          });
+    }
   }
 
   private User getUserById(Long id) {
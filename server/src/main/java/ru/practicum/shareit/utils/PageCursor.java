@@ -0,0 +1,10 @@
+package ru.practicum.shareit.utils;
+
+import java.time.LocalDateTime;
+import lombok.Value;
+
+@Value
+public class PageCursor {
+  LocalDateTime time;
+  Long id;
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.utils;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Gives endpoints returning {@link StreamingResponseBody} their own async timeout: a full NDJSON
+ * dump takes far longer than a regular request bounded by {@code spring.mvc.async.request-timeout}.
+ */
+@Configuration
+public class StreamingAsyncConfig implements WebMvcConfigurer {
+  private final Duration streamingTimeout;
+
+  public StreamingAsyncConfig(
+      @Value("${shareit.streaming.request-timeout:1h}") Duration streamingTimeout) {
+    this.streamingTimeout = streamingTimeout;
+  }
+
+  @Override
+  public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+    configurer.registerCallableInterceptors(new StreamingTimeoutInterceptor());
+  }
+
+  private static boolean isStreaming(HandlerMethod handler) {
+    MethodParameter returnType = handler.getReturnType();
+    Class<?> type = returnType.getParameterType();
+    if (ResponseEntity.class.isAssignableFrom(type)) {
+      type = returnType.nested().getNestedParameterType();
+    }
+    return StreamingResponseBody.class.isAssignableFrom(type);
+  }
+
+  private class StreamingTimeoutInterceptor implements CallableProcessingInterceptor {
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+      Object handler =
+          request.getAttribute(
+              HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+      if (request instanceof AsyncWebRequest
+          && handler instanceof HandlerMethod
+          && isStreaming((HandlerMethod) handler)) {
+        ((AsyncWebRequest) request).setTimeout(streamingTimeout.toMillis());
+      }
+    }
+  }
+}
@@ -1,25 +1,113 @@
 package ru.practicum.shareit.utils;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.servlet.http.HttpServletResponse;
 import lombok.experimental.UtilityClass;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.exception.CustomException;
 
 @UtilityClass
 public class UtilsClass {
+  public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+  private static final String CURSOR_DELIMITER = "|";
+
   public static Pageable getPageable(Integer from, Integer size, Sort sort) {
     if (from != null && size != null) {
-      return PageRequest.of(from / size, size, sort);
+      return new OffsetPageRequest(from, size, sort);
     } else {
       return Pageable.unpaged();
     }
   }
 
   public static Pageable getPageable(Integer from, Integer size) {
-    if (from != null && size != null) {
-      return PageRequest.of(from / size, size);
-    } else {
-      return Pageable.unpaged();
+    return getPageable(from, size, Sort.unsorted());
+  }
+
+  public static String encodeCursor(Object... keys) {
+    String cursor =
+        Arrays.stream(keys).map(String::valueOf).collect(Collectors.joining(CURSOR_DELIMITER));
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static PageCursor decodeCursor(String cursor, boolean withTime) {
+    try {
+      String[] keys =
+          new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+              .split("\\" + CURSOR_DELIMITER, -1);
+      if (withTime && keys.length == 2) {
+        return new PageCursor(LocalDateTime.parse(keys[0]), Long.parseLong(keys[1]));
+      }
+      if (!withTime && keys.length == 1) {
+        return new PageCursor(null, Long.parseLong(keys[0]));
+      }
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      // обработаем ниже как некорректный курсор
+    }
+    throw new CustomException.CursorException(String.format("Некорректный курсор: %s", cursor));
+  }
+
+  public static void writeNdjsonLine(ObjectMapper objectMapper, OutputStream out, Object value) {
+    try {
+      out.write(objectMapper.writeValueAsBytes(value));
+      out.write('\n');
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  public static <T> void setNextCursor(
+      HttpServletResponse response, List<T> page, Integer size, Function<T, String> cursorOf) {
+    if (size != null && !page.isEmpty() && page.size() == size) {
+      response.setHeader(NEXT_CURSOR_HEADER, cursorOf.apply(page.get(page.size() - 1)));
+    }
+  }
+
+  /**
+   * Runs the action once the current transaction commits, so in-memory indexes and caches never
+   * see changes that are later rolled back. Without an active transaction it runs immediately.
+   */
+  public static void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            action.run();
+          }
+        });
+  }
+
+  /** Runs the action once the current transaction commits or rolls back. */
+  public static void afterCompletion(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
     }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCompletion(int status) {
+            action.run();
+          }
+        });
   }
 }
@@ -0,0 +1,14 @@
+create extension if not exists pg_trgm;
+
+create index if not exists items_name_trgm_idx on items using gin (name gin_trgm_ops);
+create index if not exists items_description_trgm_idx on items using gin (description gin_trgm_ops);
+
+create extension if not exists btree_gist;
+
+alter table bookings add constraint bookings_approved_no_overlap
+    exclude using gist (item_id with =, tsrange(start_date, end_date) with &&)
+    where (status = 'APPROVED');
+
+create index if not exists users_email_upper_idx on users (upper(email));
+
+create index if not exists items_name_upper_prefix_idx on items (upper(name) text_pattern_ops);
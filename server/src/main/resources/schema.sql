@@ -3,17 +3,26 @@ drop table if exists bookings;
 drop table if exists items;
 drop table if exists requests;
 drop table if exists users;
+drop sequence if exists users_seq;
+drop sequence if exists requests_seq;
+drop sequence if exists items_seq;
+drop sequence if exists bookings_seq;
+drop sequence if exists comments_seq;
+
+create sequence if not exists users_seq start with 1 increment by 50;
 
 CREATE TABLE IF NOT EXISTS users (
-  id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+  id BIGINT NOT NULL,
   name VARCHAR(255) NOT NULL,
   email VARCHAR(512) NOT NULL,
   CONSTRAINT pk_user PRIMARY KEY (id),
   CONSTRAINT UQ_USER_EMAIL UNIQUE (email)
 );
 
+create sequence if not exists requests_seq start with 1 increment by 50;
+
 create table if not exists requests (
-    id int8 generated BY DEFAULT AS IDENTITY NOT NULL,
+    id int8 NOT NULL,
     description varchar(1000) null,
     requester_id int8 not null,
     created timestamp without time zone NOT NULL,
@@ -21,8 +30,10 @@ create table if not exists requests (
     constraint request_user_fk foreign key(requester_id) references users(id)
 );
 
+create sequence if not exists items_seq start with 1 increment by 50;
+
 CREATE TABLE IF NOT EXISTS items (
-	id int8 GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+	id int8 NOT NULL,
 	name varchar(255) not NULL,
 	description varchar(1000) not NULL,
 	available bool NULL,
@@ -33,8 +44,10 @@ CREATE TABLE IF NOT EXISTS items (
 	CONSTRAINT item_request_fk FOREIGN KEY (request_id) REFERENCES requests(id)
 );
 
+create sequence if not exists bookings_seq start with 1 increment by 50;
+
 CREATE TABLE if not exists bookings (
-	id int8 GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+	id int8 NOT NULL,
 	start_date timestamp without time zone NOT NULL,
 	end_date timestamp without time zone NOT NULL,
 	item_id int8 NOT NULL,
@@ -45,8 +58,10 @@ CREATE TABLE if not exists bookings (
 	CONSTRAINT bookings_users_fk FOREIGN KEY (booker_id) REFERENCES users(id)
 );
 
+create sequence if not exists comments_seq start with 1 increment by 50;
+
 create table if not exists comments (
-    id int8 generated BY DEFAULT AS IDENTITY NOT NULL,
+    id int8 NOT NULL,
     text varchar(1000) null,
     item_id int8 not null,
     author_id int8 not null,
@@ -54,4 +69,8 @@ create table if not exists comments (
     constraint comment_pk primary key(id),
     constraint comment_user_fk foreign key(author_id) references users(id),
     constraint comment_item_fk foreign key(item_id) references items(id)
-);
\ No newline at end of file
+);
+create index if not exists items_owner_id_idx on items (owner_id, id);
+create index if not exists bookings_booker_end_idx on bookings (booker_id, end_date desc, id desc);
+create index if not exists bookings_item_end_idx on bookings (item_id, end_date desc, id desc);
+create index if not exists requests_created_idx on requests (created, id);
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.booking;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.bookingStatus.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+
+class BookingIntervalIndexTest {
+  private static final long ITEM_ID = 1L;
+
+  private final LocalDateTime base = LocalDateTime.now().plusDays(1);
+  private BookingIntervalIndex index;
+
+  @BeforeEach
+  void setUp() {
+    index = new BookingIntervalIndex(mock(BookingRepository.class));
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void reserveDetectsOverlapBehindShorterStoredInterval() {
+    index.update(booking(1L, 1, 10, BookingStatus.APPROVED));
+    index.update(booking(2L, 2, 3, BookingStatus.WAITING));
+
+    assertThat(index.reserve(ITEM_ID, at(5), at(6))).isFalse();
+    assertThat(index.reserve(ITEM_ID, at(10), at(12))).isTrue();
+  }
+
+  @Test
+  void rejectedBookingFreesItsInterval() {
+    index.update(booking(1L, 1, 10, BookingStatus.WAITING));
+    index.update(booking(1L, 1, 10, BookingStatus.REJECTED));
+
+    assertThat(index.reserve(ITEM_ID, at(5), at(6))).isTrue();
+  }
+
+  @Test
+  void reservationIsHeldUntilTransactionCompletes() {
+    TransactionSynchronizationManager.initSynchronization();
+
+    assertThat(index.reserve(ITEM_ID, at(1), at(5))).isTrue();
+    assertThat(index.reserve(ITEM_ID, at(4), at(6))).isFalse();
+
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+    TransactionSynchronizationManager.clearSynchronization();
+
+    assertThat(index.reserve(ITEM_ID, at(4), at(6))).isTrue();
+  }
+
+  private LocalDateTime at(int hour) {
+    return base.plusHours(hour);
+  }
+
+  private Booking booking(long id, int startHour, int endHour, BookingStatus status) {
+    return Booking.builder()
+        .id(id)
+        .item(Item.builder().id(ITEM_ID).build())
+        .start(at(startHour))
+        .end(at(endHour))
+        .status(status)
+        .build();
+  }
+}
@@ -0,0 +1,114 @@
+package ru.practicum.shareit.booking;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.bookingStatus.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.exception.CustomException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+@AutoConfigureTestDatabase
+@SpringBootTest
+class BookingServiceConcurrentApprovalTest {
+  private static final int THREADS = 8;
+  private static final int ROUNDS = 10;
+
+  @Autowired private BookingService bookingService;
+  @Autowired private BookingRepository bookingRepository;
+  @Autowired private ItemRepository itemRepository;
+  @Autowired private UserRepository userRepository;
+
+  @Test
+  void onlyOneOfOverlappingBookingsIsApprovedUnderParallelApprovals() throws Exception {
+    User owner = createUser();
+    User booker = createUser();
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      for (int round = 0; round < ROUNDS; round++) {
+        Item item = createItem(owner);
+        List<Long> bookingIds = createOverlappingBookings(item, booker);
+
+        List<Object> outcomes = approveInParallel(executor, bookingIds, owner.getId());
+
+        assertThat(outcomes).filteredOn(BookingResponseDto.class::isInstance).hasSize(1);
+        assertThat(outcomes)
+            .filteredOn(outcome -> !(outcome instanceof BookingResponseDto))
+            .hasSize(THREADS - 1)
+            .allMatch(CustomException.BookingStatusException.class::isInstance);
+        assertThat(bookingRepository.findAllById(bookingIds))
+            .filteredOn(booking -> booking.getStatus() == BookingStatus.APPROVED)
+            .hasSize(1);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private List<Object> approveInParallel(
+      ExecutorService executor, List<Long> bookingIds, Long ownerId) throws Exception {
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<Object>> futures = new ArrayList<>();
+    for (Long bookingId : bookingIds) {
+      futures.add(
+          executor.submit(
+              () -> {
+                start.await();
+                try {
+                  return bookingService.approveBooking(bookingId, true, ownerId);
+                } catch (RuntimeException e) {
+                  return e;
+                }
+              }));
+    }
+    start.countDown();
+
+    List<Object> outcomes = new ArrayList<>();
+    for (Future<Object> future : futures) {
+      outcomes.add(future.get(30, TimeUnit.SECONDS));
+    }
+    return outcomes;
+  }
+
+  private List<Long> createOverlappingBookings(Item item, User booker) {
+    LocalDateTime start = LocalDateTime.now().plusDays(1);
+    List<Long> bookingIds = new ArrayList<>();
+    for (int i = 0; i < THREADS; i++) {
+      Booking booking =
+          Booking.builder()
+              .item(item)
+              .booker(booker)
+              .start(start.plusHours(i))
+              .end(start.plusHours(i + THREADS))
+              .status(BookingStatus.WAITING)
+              .build();
+      bookingIds.add(bookingRepository.save(booking).getId());
+    }
+    return bookingIds;
+  }
+
+  private Item createItem(User owner) {
+    return itemRepository.save(
+        Item.builder().name("Палатка").description("Трехместная").available(true).owner(owner).build());
+  }
+
+  private User createUser() {
+    String name = UUID.randomUUID().toString();
+    return userRepository.save(User.builder().name(name).email(name + "@mail.ru").build());
+  }
+}
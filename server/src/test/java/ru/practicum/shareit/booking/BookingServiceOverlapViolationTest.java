@@ -0,0 +1,107 @@
+package ru.practicum.shareit.booking;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import ru.practicum.shareit.booking.bookingStatus.BookingStatus;
+import ru.practicum.shareit.exception.CustomException;
+import ru.practicum.shareit.item.ItemAvailabilityService;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserCache;
+
+@ExtendWith(MockitoExtension.class)
+class BookingServiceOverlapViolationTest {
+  private static final long OWNER_ID = 1L;
+  private static final long BOOKING_ID = 10L;
+
+  @Mock private BookingRepository bookingRepository;
+  @Mock private UserCache userCache;
+  @Mock private ItemRepository itemRepository;
+  @Mock private BookingIntervalIndex bookingIntervalIndex;
+  @Mock private ItemAvailabilityService itemAvailabilityService;
+  @InjectMocks private BookingService bookingService;
+
+  @BeforeEach
+  void setUp() {
+    User owner = User.builder().id(OWNER_ID).name("Владелец").email("owner@mail.ru").build();
+    Item item = Item.builder().id(5L).name("Дрель").available(true).owner(owner).build();
+    LocalDateTime start = LocalDateTime.now().plusDays(1);
+    Booking booking =
+        Booking.builder()
+            .id(BOOKING_ID)
+            .item(item)
+            .start(start)
+            .end(start.plusDays(1))
+            .status(BookingStatus.WAITING)
+            .build();
+
+    when(bookingRepository.findBookingByIdAndOwnerId(OWNER_ID, BOOKING_ID))
+        .thenReturn(Optional.of(booking));
+    when(itemRepository.findByIdForUpdate(item.getId())).thenReturn(Optional.of(item));
+    when(bookingRepository.findAllByItemIdAndStatusInPeriod(
+            anyLong(), any(BookingStatus.class), any(), any()))
+        .thenReturn(List.of());
+  }
+
+  @Test
+  void exclusionViolationStateBecomesStatusConflict() {
+    failSaveWith(
+        new DataIntegrityViolationException(
+            "could not execute statement",
+            new SQLException("conflicting key value violates exclusion constraint", "23P01")));
+
+    assertThatThrownBy(() -> bookingService.approveBooking(BOOKING_ID, true, OWNER_ID))
+        .isInstanceOf(CustomException.BookingStatusException.class);
+    verify(bookingIntervalIndex, never()).update(any());
+  }
+
+  @Test
+  void overlapConstraintNameBecomesStatusConflict() {
+    SQLException sqlException = new SQLException("exclusion violation", "HY000");
+    failSaveWith(
+        new DataIntegrityViolationException(
+            "could not execute statement",
+            new ConstraintViolationException(
+                "could not execute statement", sqlException, "bookings_approved_no_overlap")));
+
+    assertThatThrownBy(() -> bookingService.approveBooking(BOOKING_ID, true, OWNER_ID))
+        .isInstanceOf(CustomException.BookingStatusException.class);
+  }
+
+  @Test
+  void otherIntegrityViolationsAreRethrown() {
+    DataIntegrityViolationException unique =
+        new DataIntegrityViolationException(
+            "could not execute statement",
+            new ConstraintViolationException(
+                "could not execute statement",
+                new SQLException("duplicate key value", "23505"),
+                "bookings_pk"));
+    failSaveWith(unique);
+
+    assertThatThrownBy(() -> bookingService.approveBooking(BOOKING_ID, true, OWNER_ID))
+        .isSameAs(unique);
+  }
+
+  private void failSaveWith(DataIntegrityViolationException e) {
+    when(bookingRepository.saveAndFlush(any(Booking.class))).thenThrow(e);
+  }
+}
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.booking;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.IntervalTree.Interval;
+
+class IntervalTreeTest {
+  private final LocalDateTime base = LocalDateTime.of(2030, 1, 1, 0, 0);
+  private final IntervalTree tree = new IntervalTree();
+
+  @Test
+  void findsOverlapHiddenBehindLongEarlierInterval() {
+    tree.add(interval(1, 0, 100));
+    for (int i = 0; i < 50; i++) {
+      tree.add(interval(i + 2, i * 2, i * 2 + 1));
+    }
+
+    assertThat(tree.overlaps(at(150), at(160))).isFalse();
+    assertThat(tree.overlaps(at(99), at(200))).isTrue();
+    tree.remove(interval(1, 0, 100));
+    assertThat(tree.overlaps(at(99), at(200))).isFalse();
+    assertThat(tree.overlaps(at(98), at(99))).isTrue();
+  }
+
+  @Test
+  void touchingIntervalsDoNotOverlap() {
+    tree.add(interval(1, 10, 20));
+
+    assertThat(tree.overlaps(at(20), at(30))).isFalse();
+    assertThat(tree.overlaps(at(0), at(10))).isFalse();
+    assertThat(tree.overlaps(at(19), at(21))).isTrue();
+  }
+
+  @Test
+  void agreesWithLinearScanUnderRandomChanges() {
+    Random random = new Random(42);
+    List<Interval> stored = new ArrayList<>();
+    for (int step = 0; step < 20_000; step++) {
+      if (!stored.isEmpty() && random.nextInt(3) == 0) {
+        Interval removed = stored.remove(random.nextInt(stored.size()));
+        tree.remove(removed);
+      } else {
+        int start = random.nextInt(10_000);
+        Interval added = interval(step, start, start + 1 + random.nextInt(200));
+        stored.add(added);
+        tree.add(added);
+      }
+
+      int start = random.nextInt(10_000);
+      LocalDateTime from = at(start);
+      LocalDateTime to = at(start + 1 + random.nextInt(50));
+      boolean expected =
+          stored.stream().anyMatch(i -> i.getStart().isBefore(to) && i.getEnd().isAfter(from));
+      assertThat(tree.overlaps(from, to)).isEqualTo(expected);
+      assertThat(tree.size()).isEqualTo(stored.size());
+    }
+    assertThat(tree.first())
+        .isEqualTo(
+            stored.stream()
+                .min(
+                    Comparator.comparing(Interval::getStart)
+                        .thenComparingLong(Interval::getBookingId))
+                .orElse(null));
+  }
+
+  private LocalDateTime at(int hour) {
+    return base.plusHours(hour);
+  }
+
+  private Interval interval(long id, int startHour, int endHour) {
+    return new Interval(at(startHour), at(endHour), id);
+  }
+}
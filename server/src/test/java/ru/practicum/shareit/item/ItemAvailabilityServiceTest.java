@@ -0,0 +1,87 @@
+package ru.practicum.shareit.item;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.bookingStatus.BookingStatus;
+import ru.practicum.shareit.item.dto.FreeSlotDto;
+
+@ExtendWith(MockitoExtension.class)
+class ItemAvailabilityServiceTest {
+  private static final long ITEM_ID = 5L;
+  private static final LocalDateTime FROM = LocalDateTime.of(2030, 1, 1, 0, 0);
+  private static final LocalDateTime TO = FROM.plusDays(10);
+
+  @Mock private ItemRepository itemRepository;
+  @Mock private BookingRepository bookingRepository;
+
+  private ItemAvailabilityService itemAvailabilityService;
+
+  @BeforeEach
+  void setUp() {
+    itemAvailabilityService =
+        new ItemAvailabilityService(
+            itemRepository,
+            bookingRepository,
+            new ConcurrentMapCacheManager(ItemAvailabilityService.CACHE_NAME));
+    when(itemRepository.existsById(ITEM_ID)).thenReturn(true);
+  }
+
+  @Test
+  void repeatedWindowIsServedFromCache() {
+    when(bookingRepository.findAllByItemIdAndStatusInPeriod(
+            ITEM_ID, BookingStatus.APPROVED, FROM, TO))
+        .thenReturn(List.of());
+
+    itemAvailabilityService.findFreeSlots(ITEM_ID, FROM, TO);
+    List<FreeSlotDto> slots = itemAvailabilityService.findFreeSlots(ITEM_ID, FROM, TO);
+
+    assertThat(slots).containsExactly(new FreeSlotDto(FROM, TO));
+    verify(bookingRepository, times(1))
+        .findAllByItemIdAndStatusInPeriod(ITEM_ID, BookingStatus.APPROVED, FROM, TO);
+  }
+
+  @Test
+  void evictDropsCachedWindowsOfItem() {
+    Booking booking =
+        Booking.builder().start(FROM.plusDays(2)).end(FROM.plusDays(4)).build();
+    when(bookingRepository.findAllByItemIdAndStatusInPeriod(
+            ITEM_ID, BookingStatus.APPROVED, FROM, TO))
+        .thenReturn(List.of(), List.of(booking));
+
+    assertThat(itemAvailabilityService.findFreeSlots(ITEM_ID, FROM, TO))
+        .containsExactly(new FreeSlotDto(FROM, TO));
+    itemAvailabilityService.evict(ITEM_ID);
+
+    assertThat(itemAvailabilityService.findFreeSlots(ITEM_ID, FROM, TO))
+        .containsExactly(
+            new FreeSlotDto(FROM, booking.getStart()), new FreeSlotDto(booking.getEnd(), TO));
+  }
+
+  @Test
+  void evictOfUnknownItemDoesNotTouchOthers() {
+    when(bookingRepository.findAllByItemIdAndStatusInPeriod(
+            any(), any(BookingStatus.class), any(), any()))
+        .thenReturn(List.of());
+
+    itemAvailabilityService.findFreeSlots(ITEM_ID, FROM, TO);
+    itemAvailabilityService.evict(ITEM_ID + 1);
+    itemAvailabilityService.findFreeSlots(ITEM_ID, FROM, TO);
+
+    verify(bookingRepository, times(1))
+        .findAllByItemIdAndStatusInPeriod(ITEM_ID, BookingStatus.APPROVED, FROM, TO);
+  }
+}
@@ -0,0 +1,122 @@
+package ru.practicum.shareit.item;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+@AutoConfigureTestDatabase
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ItemControllerPatchTest {
+  @LocalServerPort private int port;
+  @Autowired private ItemRepository itemRepository;
+  @Autowired private ItemRequestRepository itemRequestRepository;
+  @Autowired private UserRepository userRepository;
+
+  private final HttpClient client = HttpClient.newHttpClient();
+
+  private User owner;
+  private Item item;
+
+  @BeforeEach
+  void setUp() {
+    owner = createUser();
+    item =
+        itemRepository.save(
+            Item.builder()
+                .name("Дрель")
+                .description("Ударная дрель")
+                .available(true)
+                .owner(owner)
+                .build());
+  }
+
+  @Test
+  void idOwnerAndRequestAreIgnored() throws Exception {
+    User other = createUser();
+    ItemRequest request =
+        itemRequestRepository.save(
+            ItemRequest.builder()
+                .description("Нужна дрель")
+                .requester(other)
+                .created(LocalDateTime.now())
+                .build());
+
+    HttpResponse<String> response =
+        patch(
+            String.format(
+                "{\"id\":%d,\"owner\":{\"id\":%d},\"request\":{\"id\":%d},\"name\":\"Шуруповерт\"}",
+                item.getId() + 1000, other.getId(), request.getId()));
+
+    assertThat(response.statusCode()).isEqualTo(HttpStatus.OK.value());
+    Item saved = itemRepository.findById(item.getId()).orElseThrow();
+    assertThat(saved.getName()).isEqualTo("Шуруповерт");
+    assertThat(saved.getOwner().getId()).isEqualTo(owner.getId());
+    assertThat(saved.getRequest()).isNull();
+    assertThat(itemRepository.existsById(item.getId() + 1000)).isFalse();
+  }
+
+  @Test
+  void nullValuesAreIgnored() throws Exception {
+    HttpResponse<String> response =
+        patch("{\"name\":null,\"description\":null,\"available\":false}");
+
+    assertThat(response.statusCode()).isEqualTo(HttpStatus.OK.value());
+    Item saved = itemRepository.findById(item.getId()).orElseThrow();
+    assertThat(saved.getName()).isEqualTo("Дрель");
+    assertThat(saved.getDescription()).isEqualTo("Ударная дрель");
+    assertThat(saved.getAvailable()).isFalse();
+  }
+
+  @Test
+  void valuesAreConvertedToFieldType() throws Exception {
+    HttpResponse<String> response = patch("{\"name\":2000,\"available\":\"false\"}");
+
+    assertThat(response.statusCode()).isEqualTo(HttpStatus.OK.value());
+    Item saved = itemRepository.findById(item.getId()).orElseThrow();
+    assertThat(saved.getName()).isEqualTo("2000");
+    assertThat(saved.getAvailable()).isFalse();
+  }
+
+  @Test
+  void typeMismatchIsBadRequest() throws Exception {
+    assertThat(patch("{\"available\":\"иногда\"}").statusCode())
+        .isEqualTo(HttpStatus.BAD_REQUEST.value());
+    assertThat(patch("{\"name\":{\"value\":\"Шуруповерт\"}}").statusCode())
+        .isEqualTo(HttpStatus.BAD_REQUEST.value());
+    assertThat(itemRepository.findById(item.getId()).orElseThrow().getAvailable()).isTrue();
+  }
+
+  private HttpResponse<String> patch(String body) throws Exception {
+    HttpRequest request =
+        HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/items/" + item.getId()))
+            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .header("X-Sharer-User-Id", String.valueOf(owner.getId()))
+            .method("PATCH", HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    return client.send(request, HttpResponse.BodyHandlers.ofString());
+  }
+
+  private User createUser() {
+    String name = UUID.randomUUID().toString();
+    return userRepository.save(User.builder().name(name).email(name + "@mail.ru").build());
+  }
+}
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.item;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+/**
+ * Insert throughput of one-row-per-call saves against the batched path that sequence ids enable.
+ * Run with {@code mvn -pl server test -Dtest=ItemInsertBenchmark -Dbenchmark=true}; point it at
+ * PostgreSQL with {@code -Dspring.profiles.active=default} and the SPRING_DATASOURCE_* variables.
+ */
+@SpringBootTest(
+    properties = {
+      "spring.jpa.properties.hibernate.generate_statistics=true",
+      "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=warn",
+      "shareit.search.engine=like"
+    })
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Slf4j
+class ItemInsertBenchmark {
+  private static final int ITEMS = Integer.getInteger("benchmark.items", 10_000);
+  private static final int ROUNDS = Integer.getInteger("benchmark.rounds", 3);
+
+  @Autowired private ItemService itemService;
+  @Autowired private ItemRepository itemRepository;
+  @Autowired private UserRepository userRepository;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  @Test
+  void compareSingleRowAndBatchedInserts() {
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    for (int round = 1; round <= ROUNDS; round++) {
+      User owner = createOwner();
+
+      statistics.clear();
+      long started = System.nanoTime();
+      for (ItemDto itemDto : itemDtos()) {
+        itemRepository.saveAndFlush(ItemMapper.toModel(itemDto, owner));
+      }
+      report(round, "по одной", started, statistics);
+
+      statistics.clear();
+      started = System.nanoTime();
+      itemService.createAll(owner.getId(), itemDtos());
+      report(round, "пакетом", started, statistics);
+    }
+  }
+
+  private void report(int round, String mode, long started, Statistics statistics) {
+    double seconds = (System.nanoTime() - started) / 1e9;
+    log.info(
+        "Раунд {}, {}: {} вещей за {} с, {} вещей/с, подготовлено JDBC-запросов: {}",
+        round,
+        mode,
+        ITEMS,
+        String.format("%.3f", seconds),
+        Math.round(ITEMS / seconds),
+        statistics.getPrepareStatementCount());
+  }
+
+  private List<ItemDto> itemDtos() {
+    return IntStream.range(0, ITEMS)
+        .mapToObj(
+            i ->
+                ItemDto.builder()
+                    .name("Дрель " + i)
+                    .description("Аккумуляторная дрель")
+                    .available(true)
+                    .build())
+        .collect(Collectors.toList());
+  }
+
+  private User createOwner() {
+    String name = UUID.randomUUID().toString();
+    return userRepository.save(User.builder().name(name).email(name + "@mail.ru").build());
+  }
+}
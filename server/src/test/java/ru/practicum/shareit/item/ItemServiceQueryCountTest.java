@@ -0,0 +1,116 @@
+package ru.practicum.shareit.item;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.bookingStatus.BookingStatus;
+import ru.practicum.shareit.comment.Comment;
+import ru.practicum.shareit.comment.CommentRepository;
+import ru.practicum.shareit.item.dto.ItemPlusResponseDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+@AutoConfigureTestDatabase
+@SpringBootTest(
+    properties = {
+      "spring.jpa.properties.hibernate.generate_statistics=true",
+      "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=warn"
+    })
+class ItemServiceQueryCountTest {
+  @Autowired private ItemService itemService;
+  @Autowired private UserRepository userRepository;
+  @Autowired private ItemRepository itemRepository;
+  @Autowired private BookingRepository bookingRepository;
+  @Autowired private CommentRepository commentRepository;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  private Statistics statistics;
+  private User booker;
+
+  @BeforeEach
+  void setUp() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    booker = createUser();
+  }
+
+  @Test
+  void findAllByUserIdRunsSameNumberOfQueriesForAnyPageSize() {
+    User smallOwner = createOwnerWithItems(1);
+    User bigOwner = createOwnerWithItems(40);
+
+    long smallPageQueries = countQueries(smallOwner, 1);
+    long bigPageQueries = countQueries(bigOwner, 40);
+
+    assertThat(smallPageQueries).isPositive();
+    assertThat(bigPageQueries).isEqualTo(smallPageQueries);
+  }
+
+  private long countQueries(User owner, int expectedItems) {
+    statistics.clear();
+    List<ItemPlusResponseDto> items = itemService.findAllByUserId(owner.getId(), Pageable.unpaged());
+    long queries = statistics.getPrepareStatementCount();
+
+    assertThat(items).hasSize(expectedItems);
+    assertThat(items)
+        .allSatisfy(
+            item -> {
+              assertThat(item.getLastBooking()).isNotNull();
+              assertThat(item.getNextBooking()).isNotNull();
+              assertThat(item.getComments()).hasSize(2);
+            });
+    return queries;
+  }
+
+  private User createOwnerWithItems(int itemCount) {
+    User owner = createUser();
+    LocalDateTime now = LocalDateTime.now();
+    for (int i = 0; i < itemCount; i++) {
+      Item item =
+          itemRepository.save(
+              Item.builder()
+                  .name("Дрель " + i)
+                  .description("Простая дрель")
+                  .available(true)
+                  .owner(owner)
+                  .build());
+      bookingRepository.save(booking(item, now.minusDays(3), now.minusDays(2)));
+      bookingRepository.save(booking(item, now.plusDays(2), now.plusDays(3)));
+      commentRepository.save(comment(item, "Отличная дрель", now));
+      commentRepository.save(comment(item, "Работает", now));
+    }
+    return owner;
+  }
+
+  private User createUser() {
+    String name = UUID.randomUUID().toString();
+    return userRepository.save(User.builder().name(name).email(name + "@mail.ru").build());
+  }
+
+  private Booking booking(Item item, LocalDateTime start, LocalDateTime end) {
+    return Booking.builder()
+        .item(item)
+        .booker(booker)
+        .start(start)
+        .end(end)
+        .status(BookingStatus.APPROVED)
+        .build();
+  }
+
+  private Comment comment(Item item, String text, LocalDateTime created) {
+    return Comment.builder().item(item).author(booker).text(text).created(created).build();
+  }
+}
@@ -0,0 +1,102 @@
+package ru.practicum.shareit.item;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.bookingStatus.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+@AutoConfigureTestDatabase
+@SpringBootTest
+class ItemServiceRelevanceTest {
+  @Autowired private ItemService itemService;
+  @Autowired private ItemRepository itemRepository;
+  @Autowired private BookingRepository bookingRepository;
+  @Autowired private UserRepository userRepository;
+
+  private String word;
+  private User owner;
+  private User booker;
+
+  @BeforeEach
+  void setUp() {
+    word = "Слово" + UUID.randomUUID().toString().substring(0, 8);
+    owner = createUser();
+    booker = createUser();
+  }
+
+  @Test
+  void ranksNameMatchesByOccurrencesAndPopularity() {
+    Item once = createItem(word, "описание", true);
+    Item inDescription = createItem("Другое", word + " " + word + " " + word, true);
+    Item twice = createItem(word + " " + word, "описание", true);
+    Item popular = createItem(word.toLowerCase(), "описание", true);
+    createItem(word, "недоступна", false);
+    for (int i = 0; i < 3; i++) {
+      createBooking(popular, LocalDateTime.now().minusDays(i + 1));
+    }
+
+    List<Long> ranked = ids(itemService.searchByRelevance(word, 0, 10));
+
+    assertThat(ranked)
+        .containsExactly(twice.getId(), popular.getId(), once.getId(), inDescription.getId());
+    assertThat(ids(itemService.searchByRelevance(word, 1, 2)))
+        .containsExactly(popular.getId(), once.getId());
+  }
+
+  @Test
+  void queryIsTrimmedAndCaseFolded() {
+    createItem(word, "описание", true);
+    createItem("Другое", word + " " + word, true);
+    createItem(word + " " + word.toUpperCase(), "описание", true);
+
+    List<Long> ranked = ids(itemService.searchByRelevance(word, 0, 10));
+
+    assertThat(ranked).hasSize(3);
+    assertThat(ids(itemService.searchByRelevance(" " + word.toUpperCase() + " ", 0, 10)))
+        .containsExactlyElementsOf(ranked);
+  }
+
+  private static List<Long> ids(List<ItemDto> items) {
+    return items.stream().map(ItemDto::getId).collect(Collectors.toList());
+  }
+
+  private Item createItem(String name, String description, boolean available) {
+    return itemRepository.save(
+        Item.builder()
+            .name(name)
+            .description(description)
+            .available(available)
+            .owner(owner)
+            .build());
+  }
+
+  private void createBooking(Item item, LocalDateTime start) {
+    bookingRepository.save(
+        Booking.builder()
+            .item(item)
+            .booker(booker)
+            .start(start)
+            .end(start.plusHours(1))
+            .status(BookingStatus.APPROVED)
+            .build());
+  }
+
+  private User createUser() {
+    String name = UUID.randomUUID().toString();
+    return userRepository.save(User.builder().name(name).email(name + "@mail.ru").build());
+  }
+}
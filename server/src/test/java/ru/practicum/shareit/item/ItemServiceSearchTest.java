@@ -0,0 +1,46 @@
+package ru.practicum.shareit.item;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+@AutoConfigureTestDatabase
+@SpringBootTest
+class ItemServiceSearchTest {
+  @Autowired private ItemService itemService;
+  @Autowired private UserRepository userRepository;
+
+  @Test
+  void committedChangesReplaceCachedSearchPages() {
+    String word = "Слово" + UUID.randomUUID().toString().substring(0, 8);
+    Long ownerId = createUser().getId();
+    assertThat(search(word)).isEmpty();
+
+    ItemDto created =
+        itemService.create(
+            ownerId, ItemDto.builder().name(word).description("описание").available(true).build());
+    assertThat(search(word)).extracting(ItemDto::getId).containsExactly(created.getId());
+
+    itemService.updateFields(ownerId, created.getId(), Map.of("available", false));
+    assertThat(search(word)).isEmpty();
+  }
+
+  private List<ItemDto> search(String text) {
+    return itemService.search(text, PageRequest.of(0, 10));
+  }
+
+  private User createUser() {
+    String name = UUID.randomUUID().toString();
+    return userRepository.save(User.builder().name(name).email(name + "@mail.ru").build());
+  }
+}
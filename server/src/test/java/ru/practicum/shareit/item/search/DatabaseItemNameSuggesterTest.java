@@ -0,0 +1,74 @@
+package ru.practicum.shareit.item.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+@AutoConfigureTestDatabase
+@SpringBootTest(properties = "shareit.search.engine=like")
+class DatabaseItemNameSuggesterTest {
+  @Autowired private ItemNameSuggester itemNameSuggester;
+  @Autowired private ItemService itemService;
+  @Autowired private ItemRepository itemRepository;
+  @Autowired private UserRepository userRepository;
+
+  @Test
+  void suggestsDistinctNamesFromDatabase() {
+    String prefix = "Пила" + UUID.randomUUID().toString().substring(0, 8);
+    User owner = createUser();
+    createItem(owner, prefix + " цепная", true);
+    createItem(owner, prefix.toUpperCase() + " ЦЕПНАЯ", true);
+    createItem(owner, prefix + " дисковая", true);
+    createItem(owner, prefix + " ленточная", false);
+
+    assertThat(itemNameSuggester).isInstanceOf(DatabaseItemNameSuggester.class);
+    assertThat(itemNameSuggester.suggest(prefix.toLowerCase(), 10))
+        .hasSize(2)
+        .startsWith(prefix + " дисковая");
+  }
+
+  @Test
+  void wildcardsInPrefixAreMatchedLiterally() {
+    String prefix = "Пила" + UUID.randomUUID().toString().substring(0, 8);
+    User owner = createUser();
+    createItem(owner, prefix + "%_\\ цепная", true);
+    createItem(owner, prefix + "Ж дисковая", true);
+
+    assertThat(itemNameSuggester.suggest(prefix + "%", 10))
+        .containsExactly(prefix + "%_\\ цепная");
+    assertThat(itemNameSuggester.suggest(prefix + "%_\\", 10)).hasSize(1);
+    assertThat(itemNameSuggester.suggest(prefix + "_", 10)).isEmpty();
+    assertThat(itemNameSuggester.suggest(prefix + "\\Ж", 10)).isEmpty();
+  }
+
+  @Test
+  void sizeIsCappedOnServer() {
+    String prefix = "Пила" + UUID.randomUUID().toString().substring(0, 8);
+    User owner = createUser();
+    for (int i = 0; i < 60; i++) {
+      createItem(owner, prefix + " " + i, true);
+    }
+
+    assertThat(itemService.suggest(prefix, 1000)).hasSize(50);
+    assertThat(itemService.suggest(prefix, -1)).isEmpty();
+  }
+
+  private void createItem(User owner, String name, boolean available) {
+    itemRepository.save(
+        Item.builder().name(name).description("описание").available(available).owner(owner).build());
+  }
+
+  private User createUser() {
+    String name = UUID.randomUUID().toString();
+    return userRepository.save(User.builder().name(name).email(name + "@mail.ru").build());
+  }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.item.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+class InMemoryItemNameSuggesterTest {
+  private InMemoryItemNameSuggester suggester;
+
+  @BeforeEach
+  void setUp() {
+    suggester = new InMemoryItemNameSuggester(mock(ItemRepository.class));
+  }
+
+  @Test
+  void suggestsDistinctNamesInOrder() {
+    for (long id = 1; id <= 100; id++) {
+      suggester.index(item(id, "Дрель", true));
+    }
+    suggester.index(item(101L, "дрель ударная", true));
+    suggester.index(item(102L, "Другое", true));
+    suggester.index(item(103L, "Дрезина", false));
+
+    assertThat(suggester.suggest(" др", 10)).containsExactly("Дрель", "дрель ударная", "Другое");
+    assertThat(suggester.suggest("ДРЕ", 1)).containsExactly("Дрель");
+  }
+
+  @Test
+  void followsRenamesAndAvailability() {
+    suggester.index(item(1L, "Дрель", true));
+    suggester.index(item(1L, "Шуруповерт", true));
+    suggester.index(item(2L, "Шлифмашина", true));
+    suggester.index(item(2L, "Шлифмашина", false));
+
+    assertThat(suggester.suggest("Др", 10)).isEmpty();
+    assertThat(suggester.suggest("Ш", 10)).containsExactly("Шуруповерт");
+  }
+
+  private static Item item(long id, String name, boolean available) {
+    return Item.builder().id(id).name(name).description("описание").available(available).build();
+  }
+}
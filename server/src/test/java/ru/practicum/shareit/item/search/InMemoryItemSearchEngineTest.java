@@ -0,0 +1,91 @@
+package ru.practicum.shareit.item.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+class InMemoryItemSearchEngineTest {
+  private final Map<Long, Item> stored = new HashMap<>();
+  private InMemoryItemSearchEngine engine;
+
+  @BeforeEach
+  void setUp() {
+    ItemRepository itemRepository = mock(ItemRepository.class);
+    when(itemRepository.findAllById(anyIterable()))
+        .thenAnswer(
+            invocation ->
+                StreamSupport.stream(
+                        invocation.<Iterable<Long>>getArgument(0).spliterator(), false)
+                    .map(stored::get)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList()));
+    engine = new InMemoryItemSearchEngine(itemRepository);
+  }
+
+  @Test
+  void longQueryMatchesOnlyWholeSubstring() {
+    index(1L, "Дрель ударная", "Мощная", true);
+    index(2L, "Ударная дрель", "Мощная", true);
+    index(3L, "Дрезина", "Рельсовая ударная", true);
+
+    assertThat(ids(engine.search("дрель", Pageable.unpaged()))).containsExactly(1L, 2L);
+    assertThat(ids(engine.search("ДРЕЛЬ УД", Pageable.unpaged()))).containsExactly(1L);
+    assertThat(engine.search("дрелька", Pageable.unpaged())).isEmpty();
+  }
+
+  @Test
+  void shortQueryUsesItsOwnGram() {
+    index(1L, "Дрель", "", true);
+    index(2L, "Пила", "", true);
+    index(3L, "Отвертка", "Ручная", false);
+
+    assertThat(ids(engine.search("р", Pageable.unpaged()))).containsExactly(1L);
+    assertThat(ids(engine.search("ИЛ", Pageable.unpaged()))).containsExactly(2L);
+  }
+
+  @Test
+  void pagesByOffsetAndCursorAcrossChunks() {
+    for (long id = 1; id <= 1000; id++) {
+      index(id, id % 2 == 0 ? "Дрель " + id : "Пила " + id, "инструмент", true);
+    }
+
+    assertThat(ids(engine.search("дрель", PageRequest.of(100, 3)))).containsExactly(602L, 604L, 606L);
+    assertThat(ids(engine.searchAfter("дрель", 998L, 10))).containsExactly(1000L);
+    assertThat(ids(engine.searchAfter("дрель", 600L, 2))).containsExactly(602L, 604L);
+  }
+
+  @Test
+  void updateDropsStaleGrams() {
+    index(1L, "Дрель", "Мощная", true);
+    index(1L, "Пила", "Острая", true);
+
+    assertThat(engine.search("дрель", Pageable.unpaged())).isEmpty();
+    assertThat(engine.search("д", Pageable.unpaged())).isEmpty();
+    assertThat(ids(engine.search("пила", Pageable.unpaged()))).containsExactly(1L);
+  }
+
+  private void index(long id, String name, String description, boolean available) {
+    Item item =
+        Item.builder().id(id).name(name).description(description).available(available).build();
+    stored.put(id, item);
+    engine.index(item);
+  }
+
+  private static List<Long> ids(List<Item> items) {
+    return items.stream().map(Item::getId).collect(Collectors.toList());
+  }
+}
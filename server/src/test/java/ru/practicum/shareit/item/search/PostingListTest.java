@@ -0,0 +1,59 @@
+package ru.practicum.shareit.item.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class PostingListTest {
+  private final PostingList list = new PostingList();
+
+  @Test
+  void keepsIdsSortedAndDistinct() {
+    for (long id : new long[] {5, 1, 9, 3, 5, 7, 1}) {
+      list.add(id);
+    }
+
+    long[] buffer = new long[10];
+    int count = list.copyAfter(Long.MIN_VALUE, buffer);
+    assertThat(Arrays.copyOf(buffer, count)).containsExactly(1, 3, 5, 7, 9);
+    count = list.copyAfter(5, buffer);
+    assertThat(Arrays.copyOf(buffer, count)).containsExactly(7, 9);
+  }
+
+  @Test
+  void copyAfterFillsAtMostBuffer() {
+    for (long id = 1; id <= 100; id++) {
+      list.add(id);
+    }
+
+    long[] buffer = new long[8];
+    assertThat(list.copyAfter(0, buffer)).isEqualTo(8);
+    assertThat(buffer).containsExactly(1, 2, 3, 4, 5, 6, 7, 8);
+    assertThat(list.copyAfter(96, buffer)).isEqualTo(4);
+  }
+
+  @Test
+  void retainAllIntersectsSortedBuffer() {
+    for (long id : new long[] {2, 4, 6, 8, 10}) {
+      list.add(id);
+    }
+
+    long[] buffer = {1, 2, 3, 6, 7, 10, 11};
+    int kept = list.retainAll(buffer, buffer.length);
+    assertThat(Arrays.copyOf(buffer, kept)).containsExactly(2, 6, 10);
+  }
+
+  @Test
+  void removeReportsEmptyList() {
+    for (long id = 1; id <= 100; id++) {
+      list.add(id);
+    }
+    for (long id = 1; id < 100; id++) {
+      assertThat(list.remove(id)).isFalse();
+    }
+
+    assertThat(list.size()).isEqualTo(1);
+    assertThat(list.remove(100)).isTrue();
+  }
+}
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.request;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.utils.UtilsClass;
+
+@AutoConfigureTestDatabase
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ItemRequestControllerCursorTest {
+  private static final int PAGE_SIZE = 2;
+
+  @Autowired private TestRestTemplate restTemplate;
+  @Autowired private ItemRequestRepository itemRequestRepository;
+  @Autowired private UserRepository userRepository;
+
+  @Test
+  void cursorPagesFollowOffsetOrderWhenIdsAndCreatedDisagree() {
+    User requester = createUser();
+    User reader = createUser();
+    LocalDateTime base = LocalDateTime.now().minusDays(1).withNano(0);
+    List<Long> ids = new ArrayList<>();
+    for (int i = 0; i < 7; i++) {
+      // более поздние id получают более раннее время создания, двое делят одно время
+      LocalDateTime created = base.minusHours(i == 6 ? 5 : i);
+      ids.add(
+          itemRequestRepository
+              .save(
+                  ItemRequest.builder()
+                      .description("Нужна дрель " + i)
+                      .requester(requester)
+                      .created(created)
+                      .build())
+              .getId());
+    }
+    Set<Long> ours = Set.copyOf(ids);
+
+    List<Long> offsetOrder = ours(fetch("/requests/all?from=0&size=1000", reader).getBody(), ours);
+
+    List<Long> cursorOrder = new ArrayList<>();
+    ResponseEntity<ItemRequestDto[]> page =
+        fetch("/requests/all?from=0&size=" + PAGE_SIZE, reader);
+    cursorOrder.addAll(ours(page.getBody(), ours));
+    String cursor;
+    while ((cursor = page.getHeaders().getFirst(UtilsClass.NEXT_CURSOR_HEADER)) != null) {
+      page = fetch("/requests/all?size=" + PAGE_SIZE + "&cursor=" + cursor, reader);
+      cursorOrder.addAll(ours(page.getBody(), ours));
+    }
+
+    assertThat(offsetOrder).hasSize(ids.size());
+    assertThat(cursorOrder).containsExactlyElementsOf(offsetOrder);
+  }
+
+  private ResponseEntity<ItemRequestDto[]> fetch(String path, User reader) {
+    HttpHeaders headers = new HttpHeaders();
+    headers.set("X-Sharer-User-Id", String.valueOf(reader.getId()));
+    return restTemplate.exchange(
+        path, HttpMethod.GET, new HttpEntity<>(headers), ItemRequestDto[].class);
+  }
+
+  private static List<Long> ours(ItemRequestDto[] page, Set<Long> ours) {
+    return Arrays.stream(page)
+        .map(ItemRequestDto::getId)
+        .filter(ours::contains)
+        .collect(Collectors.toList());
+  }
+
+  private User createUser() {
+    String name = UUID.randomUUID().toString();
+    return userRepository.save(User.builder().name(name).email(name + "@mail.ru").build());
+  }
+}
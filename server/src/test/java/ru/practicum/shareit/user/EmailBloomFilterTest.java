@@ -0,0 +1,33 @@
+package ru.practicum.shareit.user;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import org.junit.jupiter.api.Test;
+
+class EmailBloomFilterTest {
+  private static final int EXPECTED = 20_000;
+
+  @Test
+  void keepsFalsePositiveRateNearConfiguredValue() {
+    EmailFilterProperties properties = new EmailFilterProperties();
+    properties.setExpectedInsertions(EXPECTED);
+    properties.setFalsePositiveRate(0.01);
+    EmailBloomFilter filter = new EmailBloomFilter(mock(UserRepository.class), properties);
+
+    for (int i = 0; i < EXPECTED; i++) {
+      filter.add("user" + i + "@mail.ru");
+    }
+
+    for (int i = 0; i < EXPECTED; i++) {
+      assertThat(filter.mightContain("USER" + i + "@MAIL.RU")).isTrue();
+    }
+    int falsePositives = 0;
+    for (int i = 0; i < EXPECTED; i++) {
+      if (filter.mightContain("other" + i + "@yandex.ru")) {
+        falsePositives++;
+      }
+    }
+    assertThat((double) falsePositives / EXPECTED).isLessThan(0.02);
+  }
+}
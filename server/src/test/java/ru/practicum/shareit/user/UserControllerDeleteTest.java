@@ -0,0 +1,68 @@
+package ru.practicum.shareit.user;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@AutoConfigureTestDatabase
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class UserControllerDeleteTest {
+  @Autowired private TestRestTemplate restTemplate;
+  @Autowired private UserRepository userRepository;
+  @Autowired private UserService userService;
+  @Autowired private UserCache userCache;
+  @Autowired private TransactionTemplate transactionTemplate;
+
+  @Test
+  void deletedUserIsNotFoundOnNextCall() {
+    User user = createUser();
+    assertThat(requests(user).getStatusCode()).isEqualTo(HttpStatus.OK);
+
+    restTemplate.delete("/users/" + user.getId());
+
+    assertThat(requests(user).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+  }
+
+  @Test
+  void userCachedWhileDeleteIsInFlightIsNotFoundAfterCommit() {
+    User user = createUser();
+
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          userService.removeById(user.getId());
+          // параллельный запрос до коммита ещё видит пользователя
+          boolean exists =
+              CompletableFuture.supplyAsync(() -> userCache.exists(user.getId()))
+                  .orTimeout(5, TimeUnit.SECONDS)
+                  .join();
+          assertThat(exists).isTrue();
+        });
+
+    assertThat(requests(user).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+  }
+
+  private ResponseEntity<String> requests(User user) {
+    HttpHeaders headers = new HttpHeaders();
+    headers.set("X-Sharer-User-Id", String.valueOf(user.getId()));
+    return restTemplate.exchange(
+        "/requests", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+  }
+
+  private User createUser() {
+    String name = UUID.randomUUID().toString();
+    return userRepository.save(User.builder().name(name).email(name + "@mail.ru").build());
+  }
+}
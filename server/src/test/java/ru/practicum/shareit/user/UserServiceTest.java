@@ -0,0 +1,26 @@
+package ru.practicum.shareit.user;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.exception.CustomException;
+import ru.practicum.shareit.user.dto.UserDto;
+
+@AutoConfigureTestDatabase
+@SpringBootTest
+class UserServiceTest {
+  @Autowired private UserService userService;
+
+  @Test
+  void duplicateEmailRejectedByConstraintIsReportedAsConflict() {
+    String email = UUID.randomUUID() + "@mail.ru";
+    userService.create(new UserDto(null, "Первый", email));
+
+    assertThatThrownBy(() -> userService.create(new UserDto(null, "Второй", email)))
+        .isInstanceOf(CustomException.EmailConflictException.class);
+  }
+}
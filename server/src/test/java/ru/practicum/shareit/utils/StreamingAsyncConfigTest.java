@@ -0,0 +1,68 @@
+package ru.practicum.shareit.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@AutoConfigureTestDatabase
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+      "spring.mvc.async.request-timeout=200ms",
+      "shareit.streaming.request-timeout=10s"
+    })
+class StreamingAsyncConfigTest {
+  private static final int LINES = 10;
+  private static final long PAUSE_MS = 300;
+
+  @Autowired private TestRestTemplate restTemplate;
+
+  @Test
+  void streamingEndpointOutlivesRegularAsyncTimeout() {
+    ResponseEntity<String> response = restTemplate.getForEntity("/test/slow-stream", String.class);
+
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(response.getBody()).hasLineCount(LINES);
+  }
+
+  @TestConfiguration
+  static class SlowStreamConfig {
+    @Bean
+    SlowStreamController slowStreamController() {
+      return new SlowStreamController();
+    }
+  }
+
+  @RestController
+  static class SlowStreamController {
+    @GetMapping("/test/slow-stream")
+    ResponseEntity<StreamingResponseBody> slowStream() {
+      return ResponseEntity.ok()
+          .body(
+              out -> {
+                for (int i = 0; i < LINES; i++) {
+                  out.write(("line " + i + "\n").getBytes(StandardCharsets.UTF_8));
+                  out.flush();
+                  try {
+                    Thread.sleep(PAUSE_MS);
+                  } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                  }
+                }
+              });
+    }
+  }
+}